@@ -4,14 +4,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
 
-import io.github.nejc92.mcts.Mcts;
 import io.github.nejc92.sy.game.Action;
-import io.github.nejc92.sy.game.Board;
 import io.github.nejc92.sy.game.State;
-import io.github.nejc92.sy.players.Hider;
 import io.github.nejc92.sy.players.Player;
 import io.github.nejc92.sy.players.Player.Operator;
 import io.github.nejc92.sy.players.PlayerProvider;
+import io.github.nejc92.sy.search.TreeSearch;
 import io.github.nejc92.sy.strategies.CoalitionReduction;
 import io.github.nejc92.sy.strategies.MoveFiltering;
 import io.github.nejc92.sy.strategies.Playouts;
@@ -19,8 +17,17 @@ import io.github.nejc92.sy.strategies.Playouts;
 public class ScotlandYard {
 
     private static final int MCTS_ITERATIONS = 20000;
+    private static final long MCTS_TIME_BUDGET_MILLIS = 150;
+    private static final boolean SEARCH_WITH_TIME_BUDGET = false;
     private static final double HIDERS_EXPLORATION = 0.2;
     private static final double SEEKERS_EXPLORATION = 2;
+    private static final boolean SEARCH_WITH_TRANSPOSITIONS = false;
+    private static final boolean SEARCH_WITH_SHARED_TREE = false;
+    private static final boolean SEEKERS_SEARCH_WITH_DETERMINIZATIONS = false;
+    private static final int NUMBER_OF_DETERMINIZATIONS = 8;
+    private static final int SEARCH_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int PLAYOUTS_PER_LEAF = 1;
+    private static final int TREE_REUSE_CAPACITY = 1 << 18;
     private static final int HUMAN_AS_HIDER = 1;
     private static final int HUMAN_AS_SEEKERS = 2;
     private static final int TEST_PLAYERS = 3;
@@ -35,7 +42,7 @@ public class ScotlandYard {
     public static void main(String... args) throws Exception {
         printWelcomeText();
         Scanner scanner = new Scanner(System.in);
-        Mcts<State, Action, Player> mcts = initializeSearch();
+        TreeSearch mcts = initializeSearch();
         playerProvider = new PlayerProvider()
             .setPlayouts(Playouts.Uses.GREEDY)
             .setCoalitionReduction(CoalitionReduction.Uses.YES)
@@ -56,10 +63,15 @@ public class ScotlandYard {
                 "Welcome to the Scotland Yard Board Game with Monte Carlo Tree Search AI players.\n");
     }
 
-    private static Mcts<State, Action, Player> initializeSearch() {
-        Mcts<State, Action, Player> mcts = Mcts.initializeIterations(MCTS_ITERATIONS);
-        mcts.dontClone(Board.class);
-        return mcts;
+    private static TreeSearch initializeSearch() {
+        TreeSearch treeSearch = SEARCH_WITH_TIME_BUDGET
+                ? TreeSearch.initializeTimeBudget(MCTS_TIME_BUDGET_MILLIS)
+                : TreeSearch.initializeIterations(MCTS_ITERATIONS);
+        return treeSearch
+                .setNumberOfThreads(SEARCH_THREADS)
+                .setNumberOfPlayouts(PLAYOUTS_PER_LEAF)
+                .setNumberOfDeterminizations(NUMBER_OF_DETERMINIZATIONS)
+                .setTreeReuseCapacity(TREE_REUSE_CAPACITY);
     }
 
     private static void setHumanPlayer(Scanner scanner) throws Exception {
@@ -113,7 +125,7 @@ public class ScotlandYard {
         System.out.printf("Enter the name of player %d (leave blank to auto-fill):\n", index);
     }
 
-    private static void playOneGame(PlayerProvider playerProvider, Mcts<State, Action, Player> mcts, Scanner scanner) {
+    private static void playOneGame(PlayerProvider playerProvider, TreeSearch mcts, Scanner scanner) {
         Player[] players = playerProvider.initializePlayers();
         State state = State.initialize(players);
         while (!state.isTerminal()) {
@@ -122,7 +134,7 @@ public class ScotlandYard {
         saveAndPrintResult(state);
     }
 
-    private static void performOneAction(State state, Mcts<State, Action, Player> mcts, Scanner scanner) {
+    private static void performOneAction(State state, TreeSearch mcts, Scanner scanner) {
         if (shouldPrintGameStateInfo())
             printBeforeMove(state);
         if (currentPlayerCanMove(state)) {
@@ -146,7 +158,7 @@ public class ScotlandYard {
         return state.getAvailableActionsForCurrentAgent().size() > 0;
     }
 
-    private static Action getNextAction(State state, Mcts<State, Action, Player> mcts, Scanner scanner) {
+    private static Action getNextAction(State state, TreeSearch mcts, Scanner scanner) {
         Action mostPromisingAction;
         if (state.currentPlayerIsHuman())
             mostPromisingAction = getActionFromInput(state, scanner);
@@ -173,7 +185,7 @@ public class ScotlandYard {
         System.out.println();
     }
 
-    private static Action getActionFromSearch(State state, Mcts<State, Action, Player> mcts) {
+    private static Action getActionFromSearch(State state, TreeSearch mcts) {
         if (state.currentPlayerIsRandom())
             return getRandomAction(state);
         else
@@ -186,18 +198,33 @@ public class ScotlandYard {
         return actions.get(0);
     }
 
-    private static Action getActionFromMctsSearch(State state, Mcts<State, Action, Player> mcts) {
+    private static Action getActionFromMctsSearch(State state, TreeSearch mcts) {
         Action mostPromisingAction;
         state.setSearchModeOn();
         updateHidersMostProbablePosition(state);
         double explorationParameter = getAppropriateExplorationParameter(state);
-        mostPromisingAction = mcts.uctSearchWithExploration(state, explorationParameter);
-        if (shouldPrintGameStateInfo())
+        mostPromisingAction = getActionFromAppropriateSearch(state, mcts, explorationParameter);
+        if (shouldPrintGameStateInfo()) {
+            printSearchIterations(mcts);
             printSelectedAction(state, mostPromisingAction);
+        }
         state.setSearchModeOff();
         return mostPromisingAction;
     }
 
+    private static Action getActionFromAppropriateSearch(State state, TreeSearch mcts, double explorationParameter) {
+        if (SEARCH_WITH_TRANSPOSITIONS)
+            return mcts.uctSearchWithTranspositions(state, explorationParameter);
+        else if (SEARCH_WITH_SHARED_TREE)
+            return mcts.uctSearchWithTreeParallelization(state, explorationParameter);
+        else if (SEEKERS_SEARCH_WITH_DETERMINIZATIONS && !state.currentPlayerIsHider())
+            return mcts.uctSearchWithDeterminizations(state, explorationParameter);
+        else if (mcts.getNumberOfThreads() > 1)
+            return mcts.uctSearchWithRootParallelization(state, explorationParameter);
+        else
+            return mcts.uctSearchWithExploration(state, explorationParameter);
+    }
+
     private static boolean shouldPrintGameStateInfo() {
         return humanType != null;
     }
@@ -214,6 +241,11 @@ public class ScotlandYard {
             return SEEKERS_EXPLORATION;
     }
 
+    private static void printSearchIterations(TreeSearch mcts) {
+        if (SEARCH_WITH_TIME_BUDGET)
+            System.out.println("Search completed " + mcts.getNumberOfCompletedIterations() + " iterations.");
+    }
+
     private static void printSelectedAction(State state, Action action) {
         if (humanType == Player.Type.HIDER || state.isHiderSurfacesRound())
             System.out.println(state.getCurrentAgent() + ": " + action + "\n");
@@ -222,20 +254,15 @@ public class ScotlandYard {
     }
 
     private static void askHumanForDoubleMove(State state, Scanner scanner) {
-        if (shouldAskForDoubleMove(state)) {
-            Hider hider = (Hider)state.getPreviousAgent();
-            if (hider.hasDoubleMoveCard())
-                askHumanForDoubleMoveConfidently(state, hider, scanner);
-        }
+        if (shouldAskForDoubleMove(state) && state.hiderHasDoubleMoveCard())
+            askHumanForDoubleMoveConfidently(state, scanner);
     }
 
-    private static void askHumanForDoubleMoveConfidently(State state, Hider hider, Scanner scanner) {
+    private static void askHumanForDoubleMoveConfidently(State state, Scanner scanner) {
         System.out.println("Use double move? y/n");
         String doubleMove = scanner.nextLine();
-        if (doubleMove.equals("y")) {
-            state.skipAllSeekers();
-            hider.removeDoubleMoveCard();
-        }
+        if (doubleMove.equals("y"))
+            state.useHidersDoubleMoveCard();
     }
 
     private static boolean shouldAskForDoubleMove(State state) {
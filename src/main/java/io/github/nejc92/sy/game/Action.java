@@ -1,11 +1,22 @@
 package io.github.nejc92.sy.game;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class Action {
 
     public enum Transportation {
         TAXI, BUS, UNDERGROUND, BLACK_FARE
     }
 
+    public static final int NO_ACTION = -1;
+    private static final int TRANSPORTATION_SHIFT = 16;
+    private static final int DESTINATION_MASK = (1 << TRANSPORTATION_SHIFT) - 1;
+    private static final int INITIAL_NUMBER_OF_DESTINATIONS = 200;
+    private static final Transportation[] TRANSPORTATIONS = Transportation.values();
+    private static volatile Action[][] canonicalActions = createCanonicalActions(INITIAL_NUMBER_OF_DESTINATIONS);
+
     private final Transportation transportation;
     private final int destination;
 
@@ -14,6 +25,72 @@ public class Action {
         this.destination = destination;
     }
 
+    private static Action[][] createCanonicalActions(int numberOfDestinations) {
+        Action[][] actions = new Action[TRANSPORTATIONS.length][numberOfDestinations];
+        for (Transportation transportation : TRANSPORTATIONS) {
+            for (int destination = 0; destination < numberOfDestinations; destination++)
+                actions[transportation.ordinal()][destination] = new Action(transportation, destination);
+        }
+        return actions;
+    }
+
+    public static Action of(Transportation transportation, int destination) {
+        Action[] actions = canonicalActions[transportation.ordinal()];
+        if (destination >= 0 && destination < actions.length)
+            return actions[destination];
+        else
+            return growCanonicalActions(destination)[transportation.ordinal()][destination];
+    }
+
+    private static synchronized Action[][] growCanonicalActions(int destination) {
+        if (destination < 0 || destination > DESTINATION_MASK)
+            throw new IllegalArgumentException("Error: invalid destination.");
+        Action[][] actions = canonicalActions;
+        if (destination < actions[0].length)
+            return actions;
+        int numberOfDestinations = Math.min(Math.max(destination + 1, actions[0].length * 2), DESTINATION_MASK + 1);
+        Action[][] grownActions = new Action[TRANSPORTATIONS.length][];
+        for (Transportation transportation : TRANSPORTATIONS) {
+            int ordinal = transportation.ordinal();
+            grownActions[ordinal] = Arrays.copyOf(actions[ordinal], numberOfDestinations);
+            for (int i = actions[ordinal].length; i < numberOfDestinations; i++)
+                grownActions[ordinal][i] = new Action(transportation, i);
+        }
+        canonicalActions = grownActions;
+        return grownActions;
+    }
+
+    public static Action fromCode(int code) {
+        return of(getTransportation(code), getDestination(code));
+    }
+
+    protected static List<Action> fromCodes(int[] codes, int numberOfCodes) {
+        List<Action> actions = new ArrayList<>(numberOfCodes);
+        for (int i = 0; i < numberOfCodes; i++)
+            actions.add(fromCode(codes[i]));
+        return actions;
+    }
+
+    public static int encode(Transportation transportation, int destination) {
+        return transportation.ordinal() << TRANSPORTATION_SHIFT | destination;
+    }
+
+    public static Transportation getTransportation(int code) {
+        return TRANSPORTATIONS[code >>> TRANSPORTATION_SHIFT];
+    }
+
+    public static int getDestination(int code) {
+        return code & DESTINATION_MASK;
+    }
+
+    public static boolean isTransportationAction(int code, Transportation transportation) {
+        return code >>> TRANSPORTATION_SHIFT == transportation.ordinal();
+    }
+
+    protected static int toBlackFareCode(int code) {
+        return encode(Transportation.BLACK_FARE, getDestination(code));
+    }
+
     public Transportation getTransportation() {
         return transportation;
     }
@@ -22,12 +99,12 @@ public class Action {
         return destination;
     }
 
-    public boolean isTransportationAction(Transportation transportation) {
-        return this.transportation == transportation;
+    public int getCode() {
+        return encode(transportation, destination);
     }
 
-    protected Action generateBlackFareAction() {
-        return new Action(Transportation.BLACK_FARE, this.destination);
+    public boolean isTransportationAction(Transportation transportation) {
+        return this.transportation == transportation;
     }
 
     @Override
@@ -51,4 +128,4 @@ public class Action {
     public String toString() {
         return transportation + " to " + destination;
     }
-}
\ No newline at end of file
+}
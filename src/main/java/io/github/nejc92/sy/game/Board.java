@@ -1,8 +1,15 @@
 package io.github.nejc92.sy.game;
 
 import io.github.nejc92.sy.players.Player;
+import io.github.nejc92.sy.utilities.BinaryBoardFileParser;
 import io.github.nejc92.sy.utilities.BoardFileParser;
 import io.github.nejc92.sy.utilities.DistancesFileParser;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -11,26 +18,194 @@ public class Board {
     private static final String BOARD_FILE_NAME = "src/main/resources/board_file.xml";
     private static final String HIDERS_DISTANCES_FILE_NAME = "src/main/resources/hiders_distances_file.xml";
     private static final String SEEKERS_DISTANCES_FILE_NAME = "src/main/resources/seekers_distances_file.xml";
+    private static final String BINARY_BOARD_FILE_NAME = "src/main/resources/board_file.bin";
+    private static final String BOARD_FILE_PROPERTY = "sy.boardFile";
+    private static final String DISTANCES_CACHE_DIRECTORY_PROPERTY = "sy.distancesCacheDirectory";
+
+    private static final int MAX_DISTANCE = 0xFF;
+    private static final int NUMBER_OF_TRANSPORTATIONS = Action.Transportation.values().length;
+    private static final int NUMBER_OF_TICKETS_MASKS = 1 << NUMBER_OF_TRANSPORTATIONS;
 
     private final List<List<Action>> positionsActions;
-    private final List<List<Integer>> hidersDistances;
-    private final List<List<Integer>> seekersDistances;
+    private final List<List<Action>> positionsTransportationActions;
+    private final int[][] positionsTicketsActionCodes;
+    private final int maximumNumberOfAvailableActions;
+    private final int[] destinationsOffsets;
+    private final int[] destinations;
+    private final int bitSetWords;
+    private final long[] transportationDestinationsBitSets;
+    private final long[] destinationsBitSets;
+    private final int distancesStride;
+    private final byte[] hidersDistances;
+    private final byte[] seekersDistances;
+
+    private static class InstanceHolder {
+        private static final Board INSTANCE = initialize();
+    }
+
+    public static Board getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
 
     public static Board initialize() {
+        String boardFileName = System.getProperty(BOARD_FILE_PROPERTY);
+        if (boardFileName != null)
+            return initializeFromBoardFile(boardFileName);
+        else if (Files.isRegularFile(Paths.get(BINARY_BOARD_FILE_NAME)))
+            return initializeFromBinaryFile();
+        else
+            return initializeFromXmlFiles();
+    }
+
+    public static Board initializeFromBoardFile(String boardFileName) {
+        BoardFileParser boardFileParser = new BoardFileParser(boardFileName);
+        List<List<Action>> positionsActions = boardFileParser.getParsedData();
+        ShortestDistancesCalculator calculator = new ShortestDistancesCalculator(positionsActions);
+        String cacheDirectoryName = System.getProperty(DISTANCES_CACHE_DIRECTORY_PROPERTY);
+        if (cacheDirectoryName == null)
+            return new Board(positionsActions, calculator.calculate(Player.Type.HIDER),
+                    calculator.calculate(Player.Type.SEEKER));
+        ShortestDistancesCache cache = new ShortestDistancesCache(cacheDirectoryName, boardFileName);
+        return new Board(positionsActions, cache.loadOrCalculate(Player.Type.HIDER, calculator),
+                cache.loadOrCalculate(Player.Type.SEEKER, calculator));
+    }
+
+    private static Board initializeFromBinaryFile() {
+        BinaryBoardFileParser binaryBoardFileParser = new BinaryBoardFileParser(BINARY_BOARD_FILE_NAME);
+        binaryBoardFileParser.parse();
+        return initializeFromParsedData(binaryBoardFileParser.getParsedPositionsActions(),
+                binaryBoardFileParser.getParsedHidersDistances(), binaryBoardFileParser.getParsedSeekersDistances());
+    }
+
+    private static Board initializeFromXmlFiles() {
         BoardFileParser boardFileParser = new BoardFileParser(BOARD_FILE_NAME);
         List<List<Action>> positionsActions = boardFileParser.getParsedData();
         DistancesFileParser distancesFileParser = new DistancesFileParser(HIDERS_DISTANCES_FILE_NAME);
         List<List<Integer>> hidersDistances = distancesFileParser.getParsedData();
         distancesFileParser = new DistancesFileParser(SEEKERS_DISTANCES_FILE_NAME);
         List<List<Integer>> seekersDistances = distancesFileParser.getParsedData();
-        return new Board(positionsActions, hidersDistances, seekersDistances);
+        return initializeFromParsedData(positionsActions, hidersDistances, seekersDistances);
+    }
+
+    private static Board initializeFromParsedData(List<List<Action>> positionsActions,
+                                                  List<List<Integer>> hidersDistances,
+                                                  List<List<Integer>> seekersDistances) {
+        int stride = positionsActions.size() + 1;
+        return new Board(positionsActions, createDistancesMatrix(hidersDistances, stride),
+                createDistancesMatrix(seekersDistances, stride));
+    }
+
+    private Board(List<List<Action>> positionsActions, byte[] hidersDistances, byte[] seekersDistances) {
+        this.positionsActions = unmodifiableLists(positionsActions);
+        this.positionsTransportationActions = unmodifiableLists(groupActionsByTransportation(positionsActions));
+        this.positionsTicketsActionCodes = createPositionsTicketsActionCodes(positionsActions);
+        this.maximumNumberOfAvailableActions = 2 * positionsActions.stream().mapToInt(List::size).max().orElse(0);
+        this.destinationsOffsets = createDestinationsOffsets(positionsTransportationActions);
+        this.destinations = createDestinations(positionsTransportationActions, destinationsOffsets);
+        this.bitSetWords = PositionsBitSet.getNumberOfWords(positionsActions.size());
+        this.transportationDestinationsBitSets = createDestinationsBitSets(1);
+        this.destinationsBitSets = createDestinationsBitSets(NUMBER_OF_TRANSPORTATIONS);
+        this.distancesStride = positionsActions.size() + 1;
+        this.hidersDistances = validateDistancesMatrix(hidersDistances, distancesStride);
+        this.seekersDistances = validateDistancesMatrix(seekersDistances, distancesStride);
+    }
+
+    private static List<List<Action>> groupActionsByTransportation(List<List<Action>> positionsActions) {
+        List<List<Action>> positionsTransportationActions = new ArrayList<>();
+        for (int slot = 0; slot < (positionsActions.size() + 1) * NUMBER_OF_TRANSPORTATIONS; slot++)
+            positionsTransportationActions.add(new ArrayList<>());
+        for (int position = 1; position <= positionsActions.size(); position++) {
+            for (Action action : positionsActions.get(position - 1))
+                positionsTransportationActions.get(getSlot(action.getTransportation(), position)).add(action);
+        }
+        return positionsTransportationActions;
+    }
+
+    private static int getSlot(Action.Transportation transportation, int position) {
+        return position * NUMBER_OF_TRANSPORTATIONS + transportation.ordinal();
+    }
+
+    private static int[][] createPositionsTicketsActionCodes(List<List<Action>> positionsActions) {
+        int[][] positionsTicketsActionCodes = new int[(positionsActions.size() + 1) * NUMBER_OF_TICKETS_MASKS][];
+        Arrays.fill(positionsTicketsActionCodes, new int[0]);
+        for (int position = 1; position <= positionsActions.size(); position++) {
+            List<Action> actions = positionsActions.get(position - 1);
+            for (int ticketsMask = 0; ticketsMask < NUMBER_OF_TICKETS_MASKS; ticketsMask++) {
+                int mask = ticketsMask;
+                positionsTicketsActionCodes[position * NUMBER_OF_TICKETS_MASKS + ticketsMask] = actions.stream()
+                        .filter(action -> (mask & getTicketsMask(action.getTransportation())) != 0)
+                        .mapToInt(Action::getCode)
+                        .toArray();
+            }
+        }
+        return positionsTicketsActionCodes;
+    }
+
+    protected static int getTicketsMask(Action.Transportation transportation) {
+        return 1 << transportation.ordinal();
+    }
+
+    private static int[] createDestinationsOffsets(List<List<Action>> positionsTransportationActions) {
+        int[] offsets = new int[positionsTransportationActions.size() + 1];
+        for (int slot = 0; slot < positionsTransportationActions.size(); slot++)
+            offsets[slot + 1] = offsets[slot] + positionsTransportationActions.get(slot).size();
+        return offsets;
+    }
+
+    private static int[] createDestinations(List<List<Action>> positionsTransportationActions, int[] offsets) {
+        int[] destinations = new int[offsets[offsets.length - 1]];
+        for (int slot = 0; slot < positionsTransportationActions.size(); slot++) {
+            int index = offsets[slot];
+            for (Action action : positionsTransportationActions.get(slot))
+                destinations[index++] = action.getDestination();
+        }
+        return destinations;
+    }
+
+    private long[] createDestinationsBitSets(int slotsPerBitSet) {
+        int numberOfBitSets = (destinationsOffsets.length - 1) / slotsPerBitSet;
+        long[] bitSets = new long[numberOfBitSets * bitSetWords];
+        for (int bitSetIndex = 0; bitSetIndex < numberOfBitSets; bitSetIndex++) {
+            int start = destinationsOffsets[bitSetIndex * slotsPerBitSet];
+            int end = destinationsOffsets[(bitSetIndex + 1) * slotsPerBitSet];
+            for (int i = start; i < end; i++) {
+                int destination = destinations[i];
+                bitSets[bitSetIndex * bitSetWords + (destination >> 6)] |= 1L << destination;
+            }
+        }
+        return bitSets;
+    }
+
+    private static byte[] createDistancesMatrix(List<List<Integer>> greaterPositionsPairs, int stride) {
+        byte[] distances = new byte[stride * stride];
+        for (int position1 = 1; position1 <= greaterPositionsPairs.size(); position1++) {
+            List<Integer> greaterPositionPair = greaterPositionsPairs.get(position1 - 1);
+            for (int i = 0; i < greaterPositionPair.size(); i++) {
+                int position2 = position1 + i + 1;
+                byte distance = distanceToByte(greaterPositionPair.get(i));
+                distances[position1 * stride + position2] = distance;
+                distances[position2 * stride + position1] = distance;
+            }
+        }
+        return distances;
+    }
+
+    private static byte[] validateDistancesMatrix(byte[] distances, int stride) {
+        if (distances.length != stride * stride)
+            throw new IllegalStateException("Error: distances do not match the number of board positions.");
+        return distances;
+    }
+
+    private static byte distanceToByte(int distance) {
+        if (distance < 0 || distance > MAX_DISTANCE)
+            throw new IllegalStateException("Error: invalid distance data.");
+        return (byte) distance;
     }
 
-    private Board(List<List<Action>> positionsActions, List<List<Integer>> hidersDistances,
-                  List<List<Integer>> seekersDistances) {
-        this.positionsActions = positionsActions;
-        this.hidersDistances = hidersDistances;
-        this.seekersDistances = seekersDistances;
+    private static <T> List<List<T>> unmodifiableLists(List<List<T>> lists) {
+        return Collections.unmodifiableList(lists.stream()
+                .map(Collections::unmodifiableList)
+                .collect(Collectors.toList()));
     }
 
     public List<Integer> getDestinationsForPosition(int position) {
@@ -46,16 +221,63 @@ public class Board {
 
     public List<Integer> getTransportationDestinationsForPosition (
             Action.Transportation transportation, int position) {
-        return getTransportationActionsForPosition(transportation, position).stream()
-                .map(Action::getDestination)
-                .collect(Collectors.toList());
+        int start = getTransportationDestinationsStart(transportation, position);
+        int end = getTransportationDestinationsEnd(transportation, position);
+        return Arrays.stream(destinations, start, end).boxed().collect(Collectors.toList());
     }
 
     public List<Action> getTransportationActionsForPosition(Action.Transportation transportation, int position) {
-        int positionListIndex = getListIndexFromPosition(position);
-        return positionsActions.get(positionListIndex).stream()
-                .filter(action -> action.getTransportation() == transportation)
-                .collect(Collectors.toList());
+        return positionsTransportationActions.get(getSlot(transportation, position));
+    }
+
+    protected int[] getTicketsActionCodesForPosition(int position, int ticketsMask) {
+        return positionsTicketsActionCodes[position * NUMBER_OF_TICKETS_MASKS + ticketsMask];
+    }
+
+    public int getMaximumNumberOfAvailableActions() {
+        return maximumNumberOfAvailableActions;
+    }
+
+    public int getNumberOfPositions() {
+        return positionsActions.size();
+    }
+
+    public int getDestinationsStart(int position) {
+        return destinationsOffsets[position * NUMBER_OF_TRANSPORTATIONS];
+    }
+
+    public int getDestinationsEnd(int position) {
+        return destinationsOffsets[(position + 1) * NUMBER_OF_TRANSPORTATIONS];
+    }
+
+    public int getTransportationDestinationsStart(Action.Transportation transportation, int position) {
+        return destinationsOffsets[getSlot(transportation, position)];
+    }
+
+    public int getTransportationDestinationsEnd(Action.Transportation transportation, int position) {
+        return destinationsOffsets[getSlot(transportation, position) + 1];
+    }
+
+    public int getDestination(int index) {
+        return destinations[index];
+    }
+
+    protected long[] createPositionsBitSet() {
+        return PositionsBitSet.create(getNumberOfPositions());
+    }
+
+    protected void addDestinationsToBitSet(long[] bitSet, int position) {
+        addWordsToBitSet(bitSet, destinationsBitSets, position * bitSetWords);
+    }
+
+    protected void addTransportationDestinationsToBitSet(long[] bitSet, Action.Transportation transportation,
+                                                         int position) {
+        addWordsToBitSet(bitSet, transportationDestinationsBitSets, getSlot(transportation, position) * bitSetWords);
+    }
+
+    private void addWordsToBitSet(long[] bitSet, long[] bitSets, int start) {
+        for (int i = 0; i < bitSetWords; i++)
+            bitSet[i] |= bitSets[start + i];
     }
 
     private int getListIndexFromPosition(int position) {
@@ -63,25 +285,17 @@ public class Board {
     }
 
     public int shortestDistanceBetween(int position1, int position2, Player.Type type) {
-        if (position1 == position2)
-            return 0;
-        else
-            return shortestDistanceBetweenDifferent(position1, position2, type);
+        return getDistancesMatrix(type)[position1 * distancesStride + position2] & MAX_DISTANCE;
     }
 
     public int shortestDistanceBetweenDifferent(int position1, int position2, Player.Type type) {
-        int index1, index2;
-        if (position1 < position2) {
-            index1 = position1 - 1;
-            index2 = (position2 - position1) - 1;
-        }
-        else {
-            index1 = position2 - 1;
-            index2 = (position1 - position2) - 1;
-        }
+        return shortestDistanceBetween(position1, position2, type);
+    }
+
+    private byte[] getDistancesMatrix(Player.Type type) {
         if (type == Player.Type.HIDER)
-            return hidersDistances.get(index1).get(index2);
+            return hidersDistances;
         else
-            return seekersDistances.get(index1).get(index2);
+            return seekersDistances;
     }
-}
\ No newline at end of file
+}
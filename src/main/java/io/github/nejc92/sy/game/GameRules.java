@@ -0,0 +1,28 @@
+package io.github.nejc92.sy.game;
+
+final class GameRules {
+
+    private static final int MAX_NUMBER_OF_ROUNDS = 24;
+    private static final int[] HIDER_SURFACES_ROUNDS = {3, 8, 13, 18, 24};
+    private static final double[] DISTANCE_TO_HIDER_PROBABILITIES = {0.196, 0.671, 0.540, 0.384, 0.196};
+
+    private GameRules() {
+    }
+
+    protected static boolean isLastRound(int round) {
+        return round == MAX_NUMBER_OF_ROUNDS;
+    }
+
+    protected static boolean isHiderSurfacesRound(int round) {
+        for (int hiderSurfacesRound : HIDER_SURFACES_ROUNDS) {
+            if (hiderSurfacesRound == round)
+                return true;
+        }
+        return false;
+    }
+
+    protected static double getDistanceToHiderProbability(int distance) {
+        int probabilityIndex = Math.min(Math.max(distance, 1), DISTANCE_TO_HIDER_PROBABILITIES.length) - 1;
+        return DISTANCE_TO_HIDER_PROBABILITIES[probabilityIndex];
+    }
+}
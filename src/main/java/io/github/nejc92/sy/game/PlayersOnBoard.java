@@ -3,6 +3,7 @@ package io.github.nejc92.sy.game;
 import io.github.nejc92.sy.players.Hider;
 import io.github.nejc92.sy.players.Player;
 import io.github.nejc92.sy.players.Seeker;
+import io.github.nejc92.sy.utilities.WeightedSampler;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -13,35 +14,48 @@ public class PlayersOnBoard {
     private static final int MINIMUM_NUMBER_OF_PLAYERS = 2;
     private static final int HIDERS_INDEX = 0;
     private static final int SKIP_HIDER = 1;
+    private static final int NO_POSITION = -1;
+    private static final int TAXI = Action.Transportation.TAXI.ordinal();
+    private static final int BUS = Action.Transportation.BUS.ordinal();
+    private static final int UNDERGROUND = Action.Transportation.UNDERGROUND.ordinal();
+    private static final int BLACK_FARE = Action.Transportation.BLACK_FARE.ordinal();
+    protected static final int DOUBLE_MOVE_CARDS = Action.Transportation.values().length;
+    protected static final int NUMBER_OF_INVENTORY_ITEMS = DOUBLE_MOVE_CARDS + 1;
     private static final List<Integer> POSSIBLE_STARTING_POSITIONS = new ArrayList<>(
             Arrays.asList(13, 26, 34, 50, 53, 62, 91, 94, 103, 112, 117, 132, 138, 141, 155, 174, 197, 198));
-    private static final double[] DISTANCE_TO_HIDER_PROBABILITIES = {0.196, 0.671, 0.540, 0.384, 0.196};
 
     private final Board board;
     private final Player[] players;
+    private final Map<String, Integer> playersIndices;
     private int[] playersActualPositions;
-    private List<Integer> hidersPossiblePositions;
+    private final int[] playersTickets;
+    private final long[] seekersOccupancy;
+    private long[] hidersPossiblePositions;
+    private final byte[] closestSeekerDistances;
     private int hidersMostProbablePosition;
     private int hidersMostProbablePositionPreviousRound;
+    private boolean hidersPositionDeterminized;
+    private long hash;
+    private final WeightedSampler sampler;
 
     protected static PlayersOnBoard initialize(Player[] players) {
         validatePlayers(players);
-        Board board = Board.initialize();
+        Board board = Board.getInstance();
         int[] playersPositions = generateRandomPlayersPositions(players.length);
         List<Integer> hidersPossibleLocations = calculateInitialHidersPossibleLocations(playersPositions);
         Collections.shuffle(hidersPossibleLocations);
         int hidersMostProbablePosition = hidersPossibleLocations.get(0);
-        return new PlayersOnBoard(board, players, playersPositions, hidersPossibleLocations,
-                hidersMostProbablePosition);
+        return new PlayersOnBoard(board, players, playersPositions,
+                createPositionsBitSet(board, hidersPossibleLocations), hidersMostProbablePosition);
     }
 
     protected static PlayersOnBoard initializeTest(Player[] players, int[] playersPositions,
                                                    int hidersMostProbablePosition) {
         validatePlayers(players);
-        Board board = Board.initialize();
+        Board board = Board.getInstance();
         List<Integer> hidersPossibleLocations = calculateInitialHidersPossibleLocations(playersPositions);
-        return new PlayersOnBoard(board, players, playersPositions, hidersPossibleLocations,
-                hidersMostProbablePosition);
+        return new PlayersOnBoard(board, players, playersPositions,
+                createPositionsBitSet(board, hidersPossibleLocations), hidersMostProbablePosition);
     }
 
     private static void validatePlayers(Player[] players) {
@@ -72,18 +86,152 @@ public class PlayersOnBoard {
         return hidersPossibleLocations;
     }
 
+    private static long[] createPositionsBitSet(Board board, List<Integer> positions) {
+        long[] bitSet = board.createPositionsBitSet();
+        for (int position : positions)
+            PositionsBitSet.add(bitSet, position);
+        return bitSet;
+    }
+
     private static List<Integer> getSeekersPositions(int[] playersPositions) {
         return Arrays.stream(playersPositions)
                 .skip(SKIP_HIDER).boxed().collect(Collectors.toList());
     }
 
     private PlayersOnBoard(Board board, Player[] players, int[] playersPositions,
-                           List<Integer> hidersPossiblePositions, int hidersMostProbablePosition) {
+                           long[] hidersPossiblePositions, int hidersMostProbablePosition) {
         this.board = board;
         this.players = players;
+        this.playersIndices = createPlayersIndices(players);
         this.playersActualPositions = playersPositions;
+        this.playersTickets = createPlayersTickets(players);
+        this.seekersOccupancy = createPositionsBitSet(board, getSeekersPositions(playersPositions));
         this.hidersPossiblePositions = hidersPossiblePositions;
         this.hidersMostProbablePosition = hidersMostProbablePosition;
+        this.closestSeekerDistances = calculateClosestSeekerDistances();
+        this.hidersPositionDeterminized = false;
+        this.hash = calculateHash();
+        this.sampler = new WeightedSampler(board.getNumberOfPositions());
+    }
+
+    private PlayersOnBoard(PlayersOnBoard playersOnBoard) {
+        this.board = playersOnBoard.board;
+        this.players = playersOnBoard.players;
+        this.playersIndices = playersOnBoard.playersIndices;
+        this.playersActualPositions = playersOnBoard.playersActualPositions.clone();
+        this.playersTickets = playersOnBoard.playersTickets.clone();
+        this.seekersOccupancy = playersOnBoard.seekersOccupancy.clone();
+        this.hidersPossiblePositions = playersOnBoard.hidersPossiblePositions.clone();
+        this.closestSeekerDistances = playersOnBoard.closestSeekerDistances.clone();
+        this.hidersMostProbablePosition = playersOnBoard.hidersMostProbablePosition;
+        this.hidersMostProbablePositionPreviousRound = playersOnBoard.hidersMostProbablePositionPreviousRound;
+        this.hidersPositionDeterminized = playersOnBoard.hidersPositionDeterminized;
+        this.hash = playersOnBoard.hash;
+        this.sampler = new WeightedSampler(board.getNumberOfPositions());
+    }
+
+    private static int[] createPlayersTickets(Player[] players) {
+        int[] playersTickets = new int[players.length * NUMBER_OF_INVENTORY_ITEMS];
+        for (int i = 0; i < players.length; i++) {
+            playersTickets[getInventoryIndex(i, TAXI)] = players[i].getInitialTaxiTickets();
+            playersTickets[getInventoryIndex(i, BUS)] = players[i].getInitialBusTickets();
+            playersTickets[getInventoryIndex(i, UNDERGROUND)] = players[i].getInitialUndergroundTickets();
+        }
+        Hider hider = (Hider) players[HIDERS_INDEX];
+        playersTickets[getInventoryIndex(HIDERS_INDEX, BLACK_FARE)] = hider.getInitialBlackFareTickets();
+        playersTickets[getInventoryIndex(HIDERS_INDEX, DOUBLE_MOVE_CARDS)] = hider.getInitialDoubleMoveCards();
+        return playersTickets;
+    }
+
+    protected static int getInventoryIndex(int playerIndex, int itemIndex) {
+        return playerIndex * NUMBER_OF_INVENTORY_ITEMS + itemIndex;
+    }
+
+    private static Map<String, Integer> createPlayersIndices(Player[] players) {
+        Map<String, Integer> playersIndices = new HashMap<>();
+        for (int i = 0; i < players.length; i++)
+            playersIndices.put(players[i].getName(), i);
+        return Collections.unmodifiableMap(playersIndices);
+    }
+
+    protected PlayersOnBoard copy() {
+        return new PlayersOnBoard(this);
+    }
+
+    protected boolean contentEquals(PlayersOnBoard playersOnBoard) {
+        return Arrays.equals(players, playersOnBoard.players)
+                && Arrays.equals(playersActualPositions, playersOnBoard.playersActualPositions)
+                && Arrays.equals(playersTickets, playersOnBoard.playersTickets)
+                && Arrays.equals(seekersOccupancy, playersOnBoard.seekersOccupancy)
+                && Arrays.equals(hidersPossiblePositions, playersOnBoard.hidersPossiblePositions)
+                && Arrays.equals(closestSeekerDistances, playersOnBoard.closestSeekerDistances)
+                && hidersMostProbablePosition == playersOnBoard.hidersMostProbablePosition
+                && hidersMostProbablePositionPreviousRound == playersOnBoard.hidersMostProbablePositionPreviousRound
+                && hidersPositionDeterminized == playersOnBoard.hidersPositionDeterminized
+                && hash == playersOnBoard.hash;
+    }
+
+    protected long getHash() {
+        return hash;
+    }
+
+    protected long calculateHash() {
+        long hash = ZobristKeys.hidersPossiblePositions(hidersPossiblePositions);
+        for (int i = 0; i < players.length; i++) {
+            hash ^= ZobristKeys.playersPosition(i, playersActualPositions[i]);
+            for (int item = 0; item < NUMBER_OF_INVENTORY_ITEMS; item++)
+                hash ^= getPlayersTicketsKey(i, item);
+        }
+        return hash;
+    }
+
+    private long getPlayersTicketsKey(int playerIndex, int itemIndex) {
+        return ZobristKeys.playersTickets(playerIndex, itemIndex,
+                playersTickets[getInventoryIndex(playerIndex, itemIndex)]);
+    }
+
+    public int getPlayersTickets(int playerIndex, Action.Transportation transportation) {
+        return playersTickets[getInventoryIndex(playerIndex, transportation.ordinal())];
+    }
+
+    public int getHidersDoubleMoveCards() {
+        return playersTickets[getInventoryIndex(HIDERS_INDEX, DOUBLE_MOVE_CARDS)];
+    }
+
+    public boolean hiderHasDoubleMoveCard() {
+        return getHidersDoubleMoveCards() > 0;
+    }
+
+    protected boolean hiderHasBlackFareTicket() {
+        return playersTickets[getInventoryIndex(HIDERS_INDEX, BLACK_FARE)] > 0;
+    }
+
+    private void changePlayersTickets(int playerIndex, int itemIndex, int change) {
+        hash ^= getPlayersTicketsKey(playerIndex, itemIndex);
+        playersTickets[getInventoryIndex(playerIndex, itemIndex)] += change;
+        hash ^= getPlayersTicketsKey(playerIndex, itemIndex);
+    }
+
+    private byte[] calculateClosestSeekerDistances() {
+        byte[] distances = new byte[board.getNumberOfPositions() + 1];
+        for (int position = 1; position < distances.length; position++)
+            distances[position] = (byte) calculateShortestDistanceToClosestSeeker(position);
+        return distances;
+    }
+
+    private void recalculateClosestSeekerDistances() {
+        for (int position = 1; position < closestSeekerDistances.length; position++)
+            closestSeekerDistances[position] = (byte) calculateShortestDistanceToClosestSeeker(position);
+    }
+
+    private int calculateShortestDistanceToClosestSeeker(int position) {
+        int shortestDistance = Integer.MAX_VALUE;
+        for (int i = SKIP_HIDER; i < playersActualPositions.length; i++) {
+            int distance = board.shortestDistanceBetween(position, playersActualPositions[i], Player.Type.HIDER);
+            if (distance < shortestDistance)
+                shortestDistance = distance;
+        }
+        return shortestDistance;
     }
 
     public double hidersAverageDistanceToSeekers(Player.Type type) {
@@ -94,10 +242,18 @@ public class PlayersOnBoard {
                 .average().getAsDouble();
     }
 
+    protected Board getBoard() {
+        return board;
+    }
+
     protected int getNumberOfPlayers() {
         return players.length;
     }
 
+    protected Map<String, Integer> getPlayersIndices() {
+        return playersIndices;
+    }
+
     protected boolean playerIsHider(int playerIndex) {
         return getPlayerAtIndex(playerIndex).isHider();
     }
@@ -125,9 +281,11 @@ public class PlayersOnBoard {
     public void printPlayers(int start) {
         for (int i = start; i < players.length; i++) {
             System.out.println(players[i] + " on " + playersActualPositions[i] +
-                    " (" + Action.Transportation.TAXI + " tickets: " + players[i].getTaxiTickets() +
-                    ", " + Action.Transportation.BUS + " tickets: " + players[i].getBusTickets() +
-                    ", " + Action.Transportation.UNDERGROUND + " tickets: " + players[i].getUndergroundTickets() + ") ");
+                    " (" + Action.Transportation.TAXI + " tickets: "
+                    + getPlayersTickets(i, Action.Transportation.TAXI) +
+                    ", " + Action.Transportation.BUS + " tickets: " + getPlayersTickets(i, Action.Transportation.BUS) +
+                    ", " + Action.Transportation.UNDERGROUND + " tickets: "
+                    + getPlayersTickets(i, Action.Transportation.UNDERGROUND) + ") ");
         }
         System.out.println();
     }
@@ -141,9 +299,7 @@ public class PlayersOnBoard {
     }
 
     protected boolean anySeekerOnPosition(int position) {
-        return Arrays.stream(playersActualPositions)
-                .skip(SKIP_HIDER)
-                .anyMatch(seekersPosition -> seekersPosition == position);
+        return position > NO_POSITION && PositionsBitSet.contains(seekersOccupancy, position);
     }
 
     protected boolean seekerOnHidersMostProbablePosition(Seeker seeker) {
@@ -155,172 +311,293 @@ public class PlayersOnBoard {
     }
 
     protected boolean seekerOnPosition(Seeker seeker, int position) {
-        int seekerIndex = IntStream.range(1, players.length).filter(i -> players[i].equals(seeker)).findFirst().getAsInt();
-        return playersActualPositions[seekerIndex] == position;
+        return playersActualPositions[playersIndices.get(seeker.getName())] == position;
     }
 
     protected List<Action> getAvailableActionsFromSeekersPov(int playerIndex) {
-        if (playerIsHider(playerIndex))
-            return getAvailableActionsForHiderFromSeekersPov(playerIndex);
-        else
-            return getAvailableActionsForActualPosition(playerIndex);
-    }
-
-    protected List<Action> getAvailableActionsForHiderFromSeekersPov(int playerIndex) {
-        List<Action> possibleActions = board.getActionsForPosition(hidersMostProbablePosition);
-        return getAvailableActionsFromPossibleActionsForPlayer(possibleActions, playerIndex);
+        int[] availableActionCodes = new int[board.getMaximumNumberOfAvailableActions()];
+        int numberOfAvailableActions = fillAvailableActionCodesFromSeekersPov(playerIndex, availableActionCodes);
+        return Action.fromCodes(availableActionCodes, numberOfAvailableActions);
     }
 
     protected List<Action> getAvailableActionsForActualPosition(int playerIndex) {
-        List<Action> possibleActions = board.getActionsForPosition(playersActualPositions[playerIndex]);
-        return getAvailableActionsFromPossibleActionsForPlayer(possibleActions, playerIndex);
+        int[] availableActionCodes = new int[board.getMaximumNumberOfAvailableActions()];
+        int numberOfAvailableActions = fillAvailableActionCodesForActualPosition(playerIndex, availableActionCodes);
+        return Action.fromCodes(availableActionCodes, numberOfAvailableActions);
     }
 
-    private List<Action> getAvailableActionsFromPossibleActionsForPlayer(
-            List<Action> possibleActions, int playerIndex) {
-        List<Action> availableActions = new ArrayList<>(possibleActions);
-        availableActions = removeActionsWithOccupiedDestinations(availableActions);
-        availableActions = removeActionsBecauseOfNoPlayersTickets(availableActions, playerIndex);
-        if (!playerIsHider(playerIndex))
-            availableActions = removeTransportationActions(Action.Transportation.BLACK_FARE, availableActions);
+    protected int fillAvailableActionCodesFromSeekersPov(int playerIndex, int[] availableActionCodes) {
+        if (playerIsHider(playerIndex))
+            return fillAvailableActionCodesForHiderFromSeekersPov(playerIndex, availableActionCodes);
         else
-            availableActions = fixHidersBlackFareActions((Hider) players[playerIndex], availableActions);
-        return availableActions;
+            return fillAvailableActionCodesForActualPosition(playerIndex, availableActionCodes);
     }
 
-    private List<Action> removeActionsWithOccupiedDestinations(List<Action> actions) {
-        return actions.stream()
-                .filter(this::actionsDestinationNotOccupied).collect(Collectors.toList());
+    protected int fillAvailableActionCodesForHiderFromSeekersPov(int playerIndex, int[] availableActionCodes) {
+        if (hidersMostProbablePosition == NO_POSITION)
+            return 0;
+        return fillAvailableActionCodesFromPositionForPlayer(
+                hidersMostProbablePosition, playerIndex, availableActionCodes);
     }
 
-    private boolean actionsDestinationNotOccupied(Action action) {
-        int destinationPosition = action.getDestination();
-        return Arrays.stream(playersActualPositions)
-                .skip(SKIP_HIDER)
-                .allMatch(position -> position != destinationPosition);
+    protected int fillAvailableActionCodesForActualPosition(int playerIndex, int[] availableActionCodes) {
+        return fillAvailableActionCodesFromPositionForPlayer(
+                playersActualPositions[playerIndex], playerIndex, availableActionCodes);
     }
 
-    private List<Action> removeActionsBecauseOfNoPlayersTickets(List<Action> actions, int playerIndex) {
-        Player player = players[playerIndex];
-        if (!player.hasTaxiTickets())
-            actions = removeTransportationActions(Action.Transportation.TAXI, actions);
-        if (!player.hasBusTickets())
-            actions = removeTransportationActions(Action.Transportation.BUS, actions);
-        if (!player.hasUndergroundTickets())
-            actions = removeTransportationActions(Action.Transportation.UNDERGROUND, actions);
-        return actions;
+    private int fillAvailableActionCodesFromPositionForPlayer(int position, int playerIndex,
+                                                              int[] availableActionCodes) {
+        int[] possibleActionCodes = board.getTicketsActionCodesForPosition(
+                position, getPlayersTicketsMask(playerIndex));
+        int numberOfAvailableActions = 0;
+        for (int actionCode : possibleActionCodes) {
+            if (actionsDestinationNotOccupied(actionCode))
+                availableActionCodes[numberOfAvailableActions++] = actionCode;
+        }
+        return numberOfAvailableActions;
     }
 
-    private List<Action> fixHidersBlackFareActions(Hider hider, List<Action> actions) {
-        if (!hider.hasBlackFareTicket())
-            actions = removeTransportationActions(Action.Transportation.BLACK_FARE, actions);
-        return actions;
+    private int getPlayersTicketsMask(int playerIndex) {
+        int ticketsMask = 0;
+        for (Action.Transportation transportation : Action.Transportation.values()) {
+            if (getPlayersTickets(playerIndex, transportation) > 0)
+                ticketsMask |= Board.getTicketsMask(transportation);
+        }
+        return ticketsMask;
     }
 
-    private List<Action> removeTransportationActions(Action.Transportation transportation, List<Action> actions) {
-        return actions.stream()
-                .filter(action -> !action.isTransportationAction(transportation))
-                .collect(Collectors.toList());
+    private boolean actionsDestinationNotOccupied(int actionCode) {
+        return !PositionsBitSet.contains(seekersOccupancy, Action.getDestination(actionCode));
     }
 
     protected void movePlayerFromActualPosition(int playerIndex, Action action) {
-        removeTransportationCard(playerIndex, action);
-        playersActualPositions[playerIndex] = action.getDestination();
+        movePlayerFromActualPosition(playerIndex, action.getCode());
+    }
+
+    protected void movePlayerFromActualPosition(int playerIndex, int actionCode) {
+        removeTransportationCard(playerIndex, actionCode);
+        setPlayersActualPosition(playerIndex, Action.getDestination(actionCode));
     }
 
     protected void movePlayerFromSeekersPov(int playerIndex, Action action) {
-        removeTransportationCard(playerIndex, action);
+        movePlayerFromSeekersPov(playerIndex, action.getCode());
+    }
+
+    protected void movePlayerFromSeekersPov(int playerIndex, int actionCode) {
+        removeTransportationCard(playerIndex, actionCode);
         if (playerIsHider(playerIndex))
-            hidersMostProbablePosition = action.getDestination();
+            hidersMostProbablePosition = Action.getDestination(actionCode);
         else
-            playersActualPositions[playerIndex] = action.getDestination();
+            setPlayersActualPosition(playerIndex, Action.getDestination(actionCode));
     }
 
-    private void removeTransportationCard(int playerIndex, Action action) {
-        if (playerIsHider(playerIndex) && action.isTransportationAction(Action.Transportation.BLACK_FARE)) {
-            Hider hider = (Hider)getPlayerAtIndex(HIDERS_INDEX);
-            hider.removeBlackFareTicket();
-        }
-        else
-            players[playerIndex].removeTicket(action.getTransportation());
+    private void setPlayersActualPosition(int playerIndex, int position) {
+        int previousPosition = playersActualPositions[playerIndex];
+        playersActualPositions[playerIndex] = position;
+        hash ^= ZobristKeys.playersPosition(playerIndex, previousPosition)
+                ^ ZobristKeys.playersPosition(playerIndex, position);
         if (!playerIsHider(playerIndex)) {
-            Hider hider = (Hider)getPlayerAtIndex(HIDERS_INDEX);
-            hider.addTicket(action.getTransportation());
+            PositionsBitSet.remove(seekersOccupancy, previousPosition);
+            PositionsBitSet.add(seekersOccupancy, position);
+            updateClosestSeekerDistances(previousPosition, position);
+        }
+    }
+
+    private void updateClosestSeekerDistances(int previousSeekersPosition, int seekersPosition) {
+        if (previousSeekersPosition == seekersPosition)
+            return;
+        for (int position = 1; position < closestSeekerDistances.length; position++) {
+            int closestDistance = getClosestSeekerDistance(position);
+            int distance = board.shortestDistanceBetween(seekersPosition, position, Player.Type.HIDER);
+            if (distance <= closestDistance)
+                closestSeekerDistances[position] = (byte) distance;
+            else if (board.shortestDistanceBetween(previousSeekersPosition, position, Player.Type.HIDER)
+                    == closestDistance)
+                closestSeekerDistances[position] = (byte) calculateShortestDistanceToClosestSeeker(position);
         }
     }
 
+    private int getClosestSeekerDistance(int position) {
+        return closestSeekerDistances[position] & 0xFF;
+    }
+
+    protected void removeTransportationCard(int playerIndex, int actionCode) {
+        int transportation = Action.getTransportation(actionCode).ordinal();
+        changePlayersTickets(playerIndex, transportation, -1);
+        if (!playerIsHider(playerIndex))
+            changePlayersTickets(HIDERS_INDEX, transportation, 1);
+    }
+
+    protected void returnTransportationCard(int playerIndex, int actionCode) {
+        int transportation = Action.getTransportation(actionCode).ordinal();
+        changePlayersTickets(playerIndex, transportation, 1);
+        if (!playerIsHider(playerIndex))
+            changePlayersTickets(HIDERS_INDEX, transportation, -1);
+    }
+
+    protected void removeHidersDoubleMoveCard() {
+        changePlayersTickets(HIDERS_INDEX, DOUBLE_MOVE_CARDS, -1);
+    }
+
+    protected void returnHidersDoubleMoveCard() {
+        changePlayersTickets(HIDERS_INDEX, DOUBLE_MOVE_CARDS, 1);
+    }
+
+    protected int getPlayersActualPosition(int playerIndex) {
+        return playersActualPositions[playerIndex];
+    }
+
+    protected void restorePlayersActualPosition(int playerIndex, int position) {
+        setPlayersActualPosition(playerIndex, position);
+    }
+
+    protected void restoreHidersPossiblePositions(long[] hidersPossiblePositions) {
+        hash ^= ZobristKeys.hidersPossiblePositionsDifference(this.hidersPossiblePositions, hidersPossiblePositions);
+        System.arraycopy(hidersPossiblePositions, 0, this.hidersPossiblePositions, 0,
+                hidersPossiblePositions.length);
+    }
+
+    protected boolean hidersPossiblePositionsContain(int position) {
+        return PositionsBitSet.contains(hidersPossiblePositions, position);
+    }
+
+    protected void addHidersPossiblePosition(int position) {
+        PositionsBitSet.add(hidersPossiblePositions, position);
+        hash ^= ZobristKeys.hidersPossiblePosition(position);
+    }
+
+    protected void removeHidersPossiblePosition(int position) {
+        PositionsBitSet.remove(hidersPossiblePositions, position);
+        hash ^= ZobristKeys.hidersPossiblePosition(position);
+    }
+
+    protected void restoreHidersMostProbablePositions(int hidersMostProbablePosition,
+                                                      int hidersMostProbablePositionPreviousRound) {
+        this.hidersMostProbablePosition = hidersMostProbablePosition;
+        this.hidersMostProbablePositionPreviousRound = hidersMostProbablePositionPreviousRound;
+    }
+
+    protected void keepHidersMostProbablePositionIfPossible(int position) {
+        if (position != NO_POSITION && hidersPossiblePositionsContain(position))
+            hidersMostProbablePosition = position;
+    }
+
     protected void setHidersActualAsMostProbablePosition() {
-        hidersPossiblePositions = new ArrayList<>();
-        hidersPossiblePositions.add(playersActualPositions[HIDERS_INDEX]);
+        int hidersPosition = getHidersSurfacingPosition();
+        hash ^= ZobristKeys.hidersPossiblePositions(hidersPossiblePositions);
+        PositionsBitSet.clear(hidersPossiblePositions);
+        PositionsBitSet.add(hidersPossiblePositions, hidersPosition);
+        hash ^= ZobristKeys.hidersPossiblePosition(hidersPosition);
         hidersMostProbablePositionPreviousRound = hidersMostProbablePosition;
-        hidersMostProbablePosition = playersActualPositions[HIDERS_INDEX];
+        hidersMostProbablePosition = hidersPosition;
+    }
+
+    private int getHidersSurfacingPosition() {
+        if (hidersPositionDeterminized)
+            return hidersMostProbablePosition;
+        else
+            return playersActualPositions[HIDERS_INDEX];
+    }
+
+    protected void determinizeHidersPosition() {
+        hidersMostProbablePosition = getMostProbableHidersPosition();
+        hidersPositionDeterminized = true;
+    }
+
+    protected boolean hidersPositionIsDeterminized() {
+        return hidersPositionDeterminized;
     }
 
     protected void recalculateHidersMostProbablePosition(Action.Transportation transportation) {
-        hidersPossiblePositions = recalculateHidersPossiblePositions(transportation);
+        recalculateHidersPossiblePositions(transportation);
         hidersMostProbablePositionPreviousRound = hidersMostProbablePosition;
         hidersMostProbablePosition = getMostProbableHidersPosition();
     }
 
     protected void removeCurrentSeekersPositionFromPossibleHidersPositions(int playerIndex) {
-        hidersPossiblePositions.remove(new Integer(playersActualPositions[playerIndex]));
+        int seekersPosition = playersActualPositions[playerIndex];
+        if (hidersPossiblePositionsContain(seekersPosition))
+            removeHidersPossiblePosition(seekersPosition);
         hidersMostProbablePositionPreviousRound = hidersMostProbablePosition;
         hidersMostProbablePosition = getMostProbableHidersPosition();
     }
 
-    private List<Integer> recalculateHidersPossiblePositions(Action.Transportation transportation) {
-        List<Integer> newHidersPossiblePositions = new ArrayList<>();
-        for (int position : hidersPossiblePositions) {
+    private void recalculateHidersPossiblePositions(Action.Transportation transportation) {
+        long[] newHidersPossiblePositions = board.createPositionsBitSet();
+        for (int position = PositionsBitSet.nextPosition(hidersPossiblePositions, 0); position >= 0;
+             position = PositionsBitSet.nextPosition(hidersPossiblePositions, position + 1)) {
             if (transportation == Action.Transportation.BLACK_FARE)
-                newHidersPossiblePositions.addAll(board.getDestinationsForPosition(position));
-            else {
-                newHidersPossiblePositions.addAll(
-                        board.getTransportationDestinationsForPosition(transportation, position));
-            }
+                board.addDestinationsToBitSet(newHidersPossiblePositions, position);
+            else
+                board.addTransportationDestinationsToBitSet(newHidersPossiblePositions, transportation, position);
         }
-        newHidersPossiblePositions.removeAll(getSeekersPositions(playersActualPositions));
-        return new ArrayList<>(new LinkedHashSet<>(newHidersPossiblePositions));
+        PositionsBitSet.andNot(newHidersPossiblePositions, seekersOccupancy);
+        hash ^= ZobristKeys.hidersPossiblePositionsDifference(hidersPossiblePositions, newHidersPossiblePositions);
+        hidersPossiblePositions = newHidersPossiblePositions;
     }
 
     private int getMostProbableHidersPosition() {
-        if (hidersPossiblePositions.size() < 1)
-            return -1;
+        if (hidersPositionDeterminized && hidersMostProbablePosition != NO_POSITION)
+            return hidersMostProbablePosition;
+        else if (PositionsBitSet.size(hidersPossiblePositions) < 1)
+            return NO_POSITION;
         else
             return getMostProbableHidersPositionConfidently();
     }
 
     private int getMostProbableHidersPositionConfidently() {
-        double[] probabilities = setPositionsProbabilities();
-        return rouletteWheelSelect(probabilities);
-    }
-
-    private double[] setPositionsProbabilities() {
-        List<Integer> seekersPositions = getSeekersPositions(playersActualPositions);
-        double[] probabilities = new double[hidersPossiblePositions.size()];
-        for (int i = 0; i < hidersPossiblePositions.size(); i++) {
-            int position = hidersPossiblePositions.get(i);
-            int minDistance = seekersPositions.stream().min(((position1, position2) -> Integer.compare(
-                    board.shortestDistanceBetween(position1, position, Player.Type.HIDER),
-                    board.shortestDistanceBetween(position2, position, Player.Type.HIDER)))).get();
-            int probabilityIndex = minDistance - 1;
-            if (probabilityIndex > 4)
-                probabilityIndex = 4;
-            probabilities[i] = DISTANCE_TO_HIDER_PROBABILITIES[probabilityIndex];
-        }
-        return probabilities;
-    }
-
-    private int rouletteWheelSelect(double[] probabilities) {
-        boolean notAccepted = true;
-        int chosen = 0;
-        double max_weight = Arrays.stream(probabilities).max().getAsDouble();
-        while (notAccepted){
-            chosen = (int)(probabilities.length * Math.random());
-            if(Math.random() < probabilities[chosen] / max_weight) {
-                notAccepted = false;
-            }
-        }
-        return hidersPossiblePositions.get(chosen);
+        sampler.clear();
+        for (int position = PositionsBitSet.nextPosition(hidersPossiblePositions, 0); position >= 0;
+             position = PositionsBitSet.nextPosition(hidersPossiblePositions, position + 1))
+            sampler.add(position, getPositionProbability(position));
+        return sampler.sample();
+    }
+
+    private double getPositionProbability(int position) {
+        return GameRules.getDistanceToHiderProbability(shortestDistanceBetweenPositionAndClosestSeeker(position));
+    }
+
+    protected int[] getHidersPossiblePositions() {
+        return PositionsBitSet.toPositions(hidersPossiblePositions);
+    }
+
+    protected int getHidersMostProbablePosition() {
+        return hidersMostProbablePosition;
+    }
+
+    protected int getHidersMostProbablePositionPreviousRound() {
+        return hidersMostProbablePositionPreviousRound;
+    }
+
+    protected int[] copyPlayersActualPositions() {
+        return playersActualPositions.clone();
+    }
+
+    protected int[] copyPlayersTickets() {
+        return playersTickets.clone();
+    }
+
+    protected long[] copySeekersOccupancy() {
+        return seekersOccupancy.clone();
+    }
+
+    protected long[] copyHidersPossiblePositions() {
+        return hidersPossiblePositions.clone();
+    }
+
+    protected byte[] copyClosestSeekerDistances() {
+        return closestSeekerDistances.clone();
+    }
+
+    protected void setSimulationResult(SimulationState simulationState) {
+        System.arraycopy(simulationState.getPlayersPositions(), 0, playersActualPositions, 0, players.length);
+        System.arraycopy(simulationState.getSeekersOccupancy(), 0, seekersOccupancy, 0, seekersOccupancy.length);
+        recalculateClosestSeekerDistances();
+        hidersPossiblePositions = simulationState.getHidersPossiblePositions().clone();
+        hidersMostProbablePosition = simulationState.getHidersMostProbablePosition();
+        hidersMostProbablePositionPreviousRound = simulationState.getHidersMostProbablePositionPreviousRound();
+        System.arraycopy(simulationState.getPlayersTickets(), 0, playersTickets, 0, playersTickets.length);
+        hash = calculateHash();
     }
 
     public void fixHidersProbablePosition() {
@@ -332,8 +609,6 @@ public class PlayersOnBoard {
     }
 
     public int shortestDistanceBetweenPositionAndClosestSeeker(int position) {
-        return getSeekersPositions(playersActualPositions).stream()
-                .map(seekersPosition -> board.shortestDistanceBetween(position, seekersPosition, Player.Type.HIDER))
-                .min(Integer::compare).get();
+        return getClosestSeekerDistance(position);
     }
 }
\ No newline at end of file
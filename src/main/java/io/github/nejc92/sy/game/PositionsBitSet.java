@@ -0,0 +1,69 @@
+package io.github.nejc92.sy.game;
+
+final class PositionsBitSet {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+    private static final int NO_POSITION = -1;
+
+    private PositionsBitSet() {
+    }
+
+    protected static long[] create(int numberOfPositions) {
+        return new long[getNumberOfWords(numberOfPositions)];
+    }
+
+    protected static int getNumberOfWords(int numberOfPositions) {
+        return (numberOfPositions + BITS_PER_WORD) >> ADDRESS_BITS_PER_WORD;
+    }
+
+    protected static void add(long[] bitSet, int position) {
+        bitSet[position >> ADDRESS_BITS_PER_WORD] |= 1L << position;
+    }
+
+    protected static void remove(long[] bitSet, int position) {
+        bitSet[position >> ADDRESS_BITS_PER_WORD] &= ~(1L << position);
+    }
+
+    protected static boolean contains(long[] bitSet, int position) {
+        return (bitSet[position >> ADDRESS_BITS_PER_WORD] & (1L << position)) != 0;
+    }
+
+    protected static void clear(long[] bitSet) {
+        for (int i = 0; i < bitSet.length; i++)
+            bitSet[i] = 0;
+    }
+
+    protected static void andNot(long[] bitSet, long[] removedPositions) {
+        for (int i = 0; i < bitSet.length; i++)
+            bitSet[i] &= ~removedPositions[i];
+    }
+
+    protected static int size(long[] bitSet) {
+        int size = 0;
+        for (long word : bitSet)
+            size += Long.bitCount(word);
+        return size;
+    }
+
+    protected static int nextPosition(long[] bitSet, int fromPosition) {
+        int wordIndex = fromPosition >> ADDRESS_BITS_PER_WORD;
+        if (wordIndex >= bitSet.length)
+            return NO_POSITION;
+        long word = bitSet[wordIndex] & (-1L << fromPosition);
+        while (word == 0) {
+            if (++wordIndex == bitSet.length)
+                return NO_POSITION;
+            word = bitSet[wordIndex];
+        }
+        return (wordIndex << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+    }
+
+    protected static int[] toPositions(long[] bitSet) {
+        int[] positions = new int[size(bitSet)];
+        int i = 0;
+        for (int position = nextPosition(bitSet, 0); position >= 0; position = nextPosition(bitSet, position + 1))
+            positions[i++] = position;
+        return positions;
+    }
+}
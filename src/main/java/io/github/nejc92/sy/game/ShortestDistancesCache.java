@@ -0,0 +1,68 @@
+package io.github.nejc92.sy.game;
+
+import io.github.nejc92.sy.players.Player;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+class ShortestDistancesCache {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final Path directory;
+    private final String boardFileHash;
+
+    protected ShortestDistancesCache(String directoryName, String boardFileName) {
+        this.directory = Paths.get(directoryName);
+        this.boardFileHash = hashFile(Paths.get(boardFileName));
+    }
+
+    private static String hashFile(Path file) {
+        try {
+            byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(Files.readAllBytes(file));
+            StringBuilder hash = new StringBuilder();
+            for (byte digestByte : digest)
+                hash.append(String.format("%02x", digestByte));
+            return hash.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Error: " + e.getMessage(), e);
+        }
+    }
+
+    protected byte[] loadOrCalculate(Player.Type type, ShortestDistancesCalculator calculator) {
+        Path file = getCacheFile(type);
+        if (Files.isRegularFile(file))
+            return tryToLoad(file);
+        byte[] distances = calculator.calculate(type);
+        tryToStore(file, distances);
+        return distances;
+    }
+
+    private Path getCacheFile(Player.Type type) {
+        return directory.resolve(String.format("distances-%s-%s.bin", type.name().toLowerCase(), boardFileHash));
+    }
+
+    private byte[] tryToLoad(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error: " + e.getMessage(), e);
+        }
+    }
+
+    private void tryToStore(Path file, byte[] distances) {
+        try {
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.createTempFile(directory, "distances", ".tmp");
+            Files.write(temporaryFile, distances);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error: " + e.getMessage(), e);
+        }
+    }
+}
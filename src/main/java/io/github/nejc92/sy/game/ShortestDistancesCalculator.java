@@ -0,0 +1,66 @@
+package io.github.nejc92.sy.game;
+
+import io.github.nejc92.sy.players.Player;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+class ShortestDistancesCalculator {
+
+    protected static final int UNREACHABLE = 0xFF;
+
+    private final List<List<Action>> positionsActions;
+    private final int numberOfPositions;
+    private final int stride;
+
+    protected ShortestDistancesCalculator(List<List<Action>> positionsActions) {
+        this.positionsActions = positionsActions;
+        this.numberOfPositions = positionsActions.size();
+        this.stride = numberOfPositions + 1;
+    }
+
+    protected byte[] calculate(Player.Type type) {
+        int[][] neighbours = createNeighbours(type);
+        byte[] distances = new byte[stride * stride];
+        IntStream.rangeClosed(1, numberOfPositions).parallel()
+                .forEach(source -> breadthFirstSearch(source, neighbours, distances));
+        return distances;
+    }
+
+    private int[][] createNeighbours(Player.Type type) {
+        int[][] neighbours = new int[stride][];
+        neighbours[0] = new int[0];
+        for (int position = 1; position <= numberOfPositions; position++) {
+            neighbours[position] = positionsActions.get(position - 1).stream()
+                    .filter(action -> canUseTransportation(type, action.getTransportation()))
+                    .mapToInt(Action::getDestination)
+                    .distinct().toArray();
+        }
+        return neighbours;
+    }
+
+    private static boolean canUseTransportation(Player.Type type, Action.Transportation transportation) {
+        return type == Player.Type.HIDER || transportation != Action.Transportation.BLACK_FARE;
+    }
+
+    private void breadthFirstSearch(int source, int[][] neighbours, byte[] distances) {
+        int rowStart = source * stride;
+        Arrays.fill(distances, rowStart, rowStart + stride, (byte) UNREACHABLE);
+        int[] queue = new int[numberOfPositions];
+        int head = 0;
+        int tail = 0;
+        distances[rowStart + source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int position = queue[head++];
+            int nextDistance = (distances[rowStart + position] & UNREACHABLE) + 1;
+            for (int destination : neighbours[position]) {
+                if ((distances[rowStart + destination] & UNREACHABLE) == UNREACHABLE) {
+                    distances[rowStart + destination] = (byte) Math.min(nextDistance, UNREACHABLE - 1);
+                    queue[tail++] = destination;
+                }
+            }
+        }
+    }
+}
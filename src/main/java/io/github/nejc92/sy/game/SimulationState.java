@@ -0,0 +1,364 @@
+package io.github.nejc92.sy.game;
+
+import io.github.nejc92.sy.players.Player;
+import io.github.nejc92.sy.players.Seeker;
+import io.github.nejc92.sy.strategies.MoveFiltering;
+import io.github.nejc92.sy.utilities.WeightedSampler;
+
+import java.util.Map;
+
+public class SimulationState {
+
+    private static final int HIDERS_INDEX = 0;
+    private static final int NO_POSITION = -1;
+    private static final int NUMBER_OF_TRANSPORTATIONS = Action.Transportation.values().length;
+    private static final int NUMBER_OF_INVENTORY_ITEMS = PlayersOnBoard.NUMBER_OF_INVENTORY_ITEMS;
+    private static final int BLACK_FARE = Action.Transportation.BLACK_FARE.ordinal();
+    private static final int DOUBLE_MOVE_CARDS = PlayersOnBoard.DOUBLE_MOVE_CARDS;
+
+    private final Board board;
+    private final int numberOfPlayers;
+    private final boolean hiderIsHuman;
+    private final Map<String, Integer> playersIndices;
+    private final int[] playersPositions;
+    private final int[] playersTickets;
+    private final long[] seekersOccupancy;
+    private long[] hidersPossiblePositions;
+    private long[] newHidersPossiblePositions;
+    private final byte[] closestSeekerDistances;
+    private final int[] closestSeekerDistancesVersions;
+    private int seekersPositionsVersion;
+    private final WeightedSampler sampler;
+    private int hidersMostProbablePosition;
+    private int hidersMostProbablePositionPreviousRound;
+    private int currentRound;
+    private int currentPlayerIndex;
+    private int previousPlayerIndex;
+    private Action.Transportation lastHidersTransportation;
+    private final boolean inSearch;
+    private final boolean hidersPositionDeterminized;
+    private final boolean searchInvokingPlayerIsHider;
+    private final boolean searchInvokingPlayerUsesCoalitionReduction;
+    private final boolean searchInvokingPlayerUsesMoveFiltering;
+
+    protected SimulationState(PlayersOnBoard playersOnBoard, int currentRound, int currentPlayerIndex,
+                              int previousPlayerIndex, Action.Transportation lastHidersTransportation,
+                              boolean inSearch, boolean searchInvokingPlayerIsHider,
+                              boolean searchInvokingPlayerUsesCoalitionReduction,
+                              boolean searchInvokingPlayerUsesMoveFiltering) {
+        this.board = playersOnBoard.getBoard();
+        this.numberOfPlayers = playersOnBoard.getNumberOfPlayers();
+        this.hiderIsHuman = playersOnBoard.playerIsHuman(HIDERS_INDEX);
+        this.playersIndices = playersOnBoard.getPlayersIndices();
+        this.playersPositions = playersOnBoard.copyPlayersActualPositions();
+        this.playersTickets = playersOnBoard.copyPlayersTickets();
+        this.seekersOccupancy = playersOnBoard.copySeekersOccupancy();
+        this.hidersPossiblePositions = playersOnBoard.copyHidersPossiblePositions();
+        this.newHidersPossiblePositions = board.createPositionsBitSet();
+        this.closestSeekerDistances = playersOnBoard.copyClosestSeekerDistances();
+        this.closestSeekerDistancesVersions = new int[closestSeekerDistances.length];
+        this.seekersPositionsVersion = 0;
+        this.sampler = new WeightedSampler(board.getNumberOfPositions());
+        this.hidersMostProbablePosition = playersOnBoard.getHidersMostProbablePosition();
+        this.hidersMostProbablePositionPreviousRound = playersOnBoard.getHidersMostProbablePositionPreviousRound();
+        this.currentRound = currentRound;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.previousPlayerIndex = previousPlayerIndex;
+        this.lastHidersTransportation = lastHidersTransportation;
+        this.inSearch = inSearch;
+        this.hidersPositionDeterminized = playersOnBoard.hidersPositionIsDeterminized();
+        this.searchInvokingPlayerIsHider = searchInvokingPlayerIsHider;
+        this.searchInvokingPlayerUsesCoalitionReduction = searchInvokingPlayerUsesCoalitionReduction;
+        this.searchInvokingPlayerUsesMoveFiltering = searchInvokingPlayerUsesMoveFiltering;
+    }
+
+    public boolean currentPlayerIsHider() {
+        return currentPlayerIndex == HIDERS_INDEX;
+    }
+
+    private boolean inSearchFromSeekersPov() {
+        return inSearch && !searchInvokingPlayerIsHider;
+    }
+
+    public boolean isTerminal() {
+        return seekersWon() || hiderWon();
+    }
+
+    public boolean seekersWon() {
+        if (inSearchFromSeekersPov())
+            return anySeekerOnPosition(hidersMostProbablePositionPreviousRound);
+        else
+            return anySeekerOnPosition(playersPositions[HIDERS_INDEX]);
+    }
+
+    public boolean hiderWon() {
+        return GameRules.isLastRound(currentRound);
+    }
+
+    public boolean seekerWon(Seeker seeker) {
+        int seekersPosition = playersPositions[playersIndices.get(seeker.getName())];
+        if (inSearchFromSeekersPov())
+            return seekersPosition == hidersMostProbablePositionPreviousRound;
+        else
+            return seekersPosition == playersPositions[HIDERS_INDEX];
+    }
+
+    public boolean searchInvokingPlayerUsesCoalitionReduction() {
+        return searchInvokingPlayerUsesCoalitionReduction;
+    }
+
+    private boolean anySeekerOnPosition(int position) {
+        return position > NO_POSITION && PositionsBitSet.contains(seekersOccupancy, position);
+    }
+
+    public int fillAvailableActionCodesForCurrentAgent(int[] availableActionCodes) {
+        int position;
+        if (currentPlayerIsHider() && inSearchFromSeekersPov())
+            position = hidersMostProbablePosition;
+        else
+            position = playersPositions[currentPlayerIndex];
+        if (position == NO_POSITION)
+            return 0;
+        int numberOfAvailableActions = 0;
+        for (int actionCode : board.getTicketsActionCodesForPosition(position, getTicketsMask(currentPlayerIndex))) {
+            if (!PositionsBitSet.contains(seekersOccupancy, Action.getDestination(actionCode)))
+                availableActionCodes[numberOfAvailableActions++] = actionCode;
+        }
+        if (currentPlayerIsHider() && shouldAddBlackFareActions(availableActionCodes, numberOfAvailableActions))
+            return addBlackFareActions(availableActionCodes, numberOfAvailableActions);
+        return numberOfAvailableActions;
+    }
+
+    private int getTicketsMask(int playerIndex) {
+        int ticketsMask = 0;
+        for (int transportation = 0; transportation < NUMBER_OF_TRANSPORTATIONS; transportation++) {
+            if (playersTickets[playerIndex * NUMBER_OF_INVENTORY_ITEMS + transportation] > 0)
+                ticketsMask |= 1 << transportation;
+        }
+        return ticketsMask;
+    }
+
+    private boolean shouldAddBlackFareActions(int[] actionCodes, int numberOfActions) {
+        if (!hiderHasBlackFareTicket())
+            return false;
+        else if (hiderIsHuman && !inSearch || !searchInvokingPlayerUsesMoveFiltering)
+            return true;
+        else
+            return MoveFiltering.optimalToUseBlackFareTicket(currentRound, actionCodes, numberOfActions);
+    }
+
+    private boolean hiderHasBlackFareTicket() {
+        return playersTickets[HIDERS_INDEX * NUMBER_OF_INVENTORY_ITEMS + BLACK_FARE] > 0;
+    }
+
+    private static int addBlackFareActions(int[] actionCodes, int numberOfActions) {
+        int numberOfAllActions = numberOfActions;
+        for (int i = 0; i < numberOfActions; i++) {
+            int blackFareActionCode = Action.toBlackFareCode(actionCodes[i]);
+            if (!containsActionCode(actionCodes, numberOfAllActions, blackFareActionCode))
+                actionCodes[numberOfAllActions++] = blackFareActionCode;
+        }
+        return numberOfAllActions;
+    }
+
+    private static boolean containsActionCode(int[] actionCodes, int numberOfActions, int actionCode) {
+        for (int i = 0; i < numberOfActions; i++) {
+            if (actionCodes[i] == actionCode)
+                return true;
+        }
+        return false;
+    }
+
+    public void performActionForCurrentAgent(int actionCode) {
+        Action.Transportation transportation = Action.getTransportation(actionCode);
+        int destination = Action.getDestination(actionCode);
+        removeTransportationCard(transportation);
+        if (currentPlayerIsHider()) {
+            if (inSearchFromSeekersPov())
+                hidersMostProbablePosition = destination;
+            else
+                playersPositions[HIDERS_INDEX] = destination;
+            lastHidersTransportation = transportation;
+            setHidersMostProbablePositionAfterHider();
+        }
+        else {
+            setSeekersPosition(currentPlayerIndex, destination);
+            PositionsBitSet.remove(hidersPossiblePositions, destination);
+            setHidersMostProbablePosition(getMostProbableHidersPosition());
+        }
+        prepareStateForNextPlayer();
+        performDoubleMoveIfShould();
+    }
+
+    private void removeTransportationCard(Action.Transportation transportation) {
+        playersTickets[currentPlayerIndex * NUMBER_OF_INVENTORY_ITEMS + transportation.ordinal()]--;
+        if (!currentPlayerIsHider() && transportation != Action.Transportation.BLACK_FARE)
+            playersTickets[HIDERS_INDEX * NUMBER_OF_INVENTORY_ITEMS + transportation.ordinal()]++;
+    }
+
+    private void setSeekersPosition(int seekerIndex, int position) {
+        int previousPosition = playersPositions[seekerIndex];
+        playersPositions[seekerIndex] = position;
+        PositionsBitSet.remove(seekersOccupancy, previousPosition);
+        PositionsBitSet.add(seekersOccupancy, position);
+        if (previousPosition != position)
+            seekersPositionsVersion++;
+    }
+
+    private int calculateShortestDistanceToClosestSeeker(int position) {
+        int shortestDistance = Integer.MAX_VALUE;
+        for (int i = HIDERS_INDEX + 1; i < numberOfPlayers; i++)
+            shortestDistance = Math.min(shortestDistance,
+                    board.shortestDistanceBetween(position, playersPositions[i], Player.Type.HIDER));
+        return shortestDistance;
+    }
+
+    private void setHidersMostProbablePositionAfterHider() {
+        if (isHiderSurfacesRound()) {
+            int hidersPosition = getHidersSurfacingPosition();
+            PositionsBitSet.clear(hidersPossiblePositions);
+            PositionsBitSet.add(hidersPossiblePositions, hidersPosition);
+            setHidersMostProbablePosition(hidersPosition);
+        }
+        else {
+            recalculateHidersPossiblePositions();
+            setHidersMostProbablePosition(getMostProbableHidersPosition());
+        }
+    }
+
+    private int getHidersSurfacingPosition() {
+        if (hidersPositionDeterminized)
+            return hidersMostProbablePosition;
+        else
+            return playersPositions[HIDERS_INDEX];
+    }
+
+    private boolean isHiderSurfacesRound() {
+        return GameRules.isHiderSurfacesRound(currentRound);
+    }
+
+    private void recalculateHidersPossiblePositions() {
+        PositionsBitSet.clear(newHidersPossiblePositions);
+        for (int position = PositionsBitSet.nextPosition(hidersPossiblePositions, 0); position >= 0;
+             position = PositionsBitSet.nextPosition(hidersPossiblePositions, position + 1)) {
+            if (lastHidersTransportation == Action.Transportation.BLACK_FARE)
+                board.addDestinationsToBitSet(newHidersPossiblePositions, position);
+            else
+                board.addTransportationDestinationsToBitSet(
+                        newHidersPossiblePositions, lastHidersTransportation, position);
+        }
+        PositionsBitSet.andNot(newHidersPossiblePositions, seekersOccupancy);
+        long[] previousHidersPossiblePositions = hidersPossiblePositions;
+        hidersPossiblePositions = newHidersPossiblePositions;
+        newHidersPossiblePositions = previousHidersPossiblePositions;
+    }
+
+    private void setHidersMostProbablePosition(int position) {
+        hidersMostProbablePositionPreviousRound = hidersMostProbablePosition;
+        hidersMostProbablePosition = position;
+    }
+
+    private int getMostProbableHidersPosition() {
+        if (hidersPositionDeterminized && hidersMostProbablePosition != NO_POSITION)
+            return hidersMostProbablePosition;
+        sampler.clear();
+        for (int position = PositionsBitSet.nextPosition(hidersPossiblePositions, 0); position >= 0;
+             position = PositionsBitSet.nextPosition(hidersPossiblePositions, position + 1))
+            sampler.add(position, getPositionProbability(position));
+        if (sampler.size() < 1)
+            return NO_POSITION;
+        else
+            return sampler.sample();
+    }
+
+    private double getPositionProbability(int position) {
+        return GameRules.getDistanceToHiderProbability(shortestDistanceBetweenPositionAndClosestSeeker(position));
+    }
+
+    public void skipCurrentAgent() {
+        prepareStateForNextPlayer();
+    }
+
+    private void prepareStateForNextPlayer() {
+        if (currentPlayerIndex == numberOfPlayers - 1)
+            currentRound++;
+        previousPlayerIndex = currentPlayerIndex;
+        currentPlayerIndex = (currentPlayerIndex + 1) % numberOfPlayers;
+    }
+
+    private void performDoubleMoveIfShould() {
+        if (previousPlayerIndex == HIDERS_INDEX && (!hiderIsHuman || inSearch) && shouldUseDoubleMove()) {
+            currentPlayerIndex--;
+            currentRound++;
+            playersTickets[HIDERS_INDEX * NUMBER_OF_INVENTORY_ITEMS + DOUBLE_MOVE_CARDS]--;
+        }
+    }
+
+    private boolean shouldUseDoubleMove() {
+        if (playersTickets[HIDERS_INDEX * NUMBER_OF_INVENTORY_ITEMS + DOUBLE_MOVE_CARDS] < 1)
+            return false;
+        else if (searchInvokingPlayerUsesMoveFiltering)
+            return MoveFiltering.optimalToUseDoubleMoveCard(hidersAverageDistanceToSeekers(Player.Type.SEEKER));
+        else
+            return MoveFiltering.shouldUseDoubleMoveCardGreedy();
+    }
+
+    public double hidersAverageDistanceToSeekers(Player.Type type) {
+        int distances = 0;
+        for (int i = HIDERS_INDEX + 1; i < numberOfPlayers; i++)
+            distances += board.shortestDistanceBetween(playersPositions[HIDERS_INDEX], playersPositions[i], type);
+        return (double) distances / (numberOfPlayers - 1);
+    }
+
+    public int shortestDistanceBetweenPositionAndHidersMostProbablePosition(int position) {
+        return board.shortestDistanceBetween(position, hidersMostProbablePosition, Player.Type.SEEKER);
+    }
+
+    public int shortestDistanceBetweenPositionAndClosestSeeker(int position) {
+        if (closestSeekerDistancesVersions[position] != seekersPositionsVersion) {
+            closestSeekerDistances[position] = (byte) calculateShortestDistanceToClosestSeeker(position);
+            closestSeekerDistancesVersions[position] = seekersPositionsVersion;
+        }
+        return closestSeekerDistances[position] & 0xFF;
+    }
+
+    protected int getCurrentRound() {
+        return currentRound;
+    }
+
+    protected int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    protected int getPreviousPlayerIndex() {
+        return previousPlayerIndex;
+    }
+
+    protected Action.Transportation getLastHidersTransportation() {
+        return lastHidersTransportation;
+    }
+
+    protected int[] getPlayersPositions() {
+        return playersPositions;
+    }
+
+    protected int[] getPlayersTickets() {
+        return playersTickets;
+    }
+
+    protected long[] getSeekersOccupancy() {
+        return seekersOccupancy;
+    }
+
+    protected long[] getHidersPossiblePositions() {
+        return hidersPossiblePositions;
+    }
+
+    protected int getHidersMostProbablePosition() {
+        return hidersMostProbablePosition;
+    }
+
+    protected int getHidersMostProbablePositionPreviousRound() {
+        return hidersMostProbablePositionPreviousRound;
+    }
+}
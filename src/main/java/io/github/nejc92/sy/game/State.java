@@ -6,14 +6,62 @@ import io.github.nejc92.sy.players.Player;
 import io.github.nejc92.sy.players.Seeker;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class State implements MctsDomainState<Action, Player> {
 
-    private static final int MAX_NUMBER_OF_ROUNDS = 24;
-    private static final List<Integer> HIDER_SURFACES_ROUNDS = new ArrayList<>(Arrays.asList(3, 8, 13, 18, 24));
     private static final int ALL_PLAYERS = 0;
     private static final int ONLY_SEEKERS = 1;
+    private static final String VALIDATE_ACTIONS_PROPERTY = "sy.validateActions";
+    private static final boolean VALIDATE_ACTIONS = Boolean.getBoolean(VALIDATE_ACTIONS_PROPERTY);
+    private static final ThreadLocal<int[]> AVAILABLE_ACTIONS_BUFFER =
+            ThreadLocal.withInitial(State::createAvailableActionsBuffer);
+
+    public static final class UndoRecord {
+
+        private final int playerIndex;
+        private final int actionCode;
+        private final int playersPreviousPosition;
+        private final int hidersPreviousMostProbablePosition;
+        private final int hidersPreviousMostProbablePositionPreviousRound;
+        private final int previousRound;
+        private final int previousPreviousPlayerIndex;
+        private final Action.Transportation previousLastHidersTransportation;
+        private long[] hidersPreviousPossiblePositions;
+        private long[] hidersPossiblePositions;
+        private boolean hidersPossiblePositionRemoved;
+        private int hidersMostProbablePosition;
+        private boolean doubleMoveCardUsed;
+
+        private UndoRecord(State state, int actionCode) {
+            PlayersOnBoard playersOnBoard = state.playersOnBoard;
+            this.playerIndex = state.currentPlayerIndex;
+            this.actionCode = actionCode;
+            this.playersPreviousPosition = playersOnBoard.getPlayersActualPosition(playerIndex);
+            this.hidersPreviousMostProbablePosition = playersOnBoard.getHidersMostProbablePosition();
+            this.hidersPreviousMostProbablePositionPreviousRound =
+                    playersOnBoard.getHidersMostProbablePositionPreviousRound();
+            this.previousRound = state.currentRound;
+            this.previousPreviousPlayerIndex = state.previousPlayerIndex;
+            this.previousLastHidersTransportation = state.lastHidersTransportation;
+        }
+
+        public int getPlayerIndex() {
+            return playerIndex;
+        }
+
+        public int getActionCode() {
+            return actionCode;
+        }
+
+        public boolean spansSameTurnsAs(UndoRecord undoRecord) {
+            return previousRound == undoRecord.previousRound && playerIndex == undoRecord.playerIndex
+                    && doubleMoveCardUsed == undoRecord.doubleMoveCardUsed;
+        }
+
+        private boolean isSkip() {
+            return actionCode == Action.NO_ACTION;
+        }
+    }
 
     private final PlayersOnBoard playersOnBoard;
     private final int numberOfPlayers;
@@ -25,12 +73,19 @@ public class State implements MctsDomainState<Action, Player> {
     private boolean searchInvokingPlayerIsHider;
     private boolean searchInvokingPlayerUsesCoalitionReduction;
     private boolean searchInvokingPlayerUsesMoveFiltering;
+    private final List<UndoRecord> undoRecords;
 
     public static State initialize(Player[] players) {
         PlayersOnBoard playersOnBoard = PlayersOnBoard.initialize(players);
         return new State(playersOnBoard, players.length);
     }
 
+    protected static State initializeTest(Player[] players, int[] playersPositions, int hidersMostProbablePosition) {
+        PlayersOnBoard playersOnBoard = PlayersOnBoard.initializeTest(
+                players, playersPositions, hidersMostProbablePosition);
+        return new State(playersOnBoard, players.length);
+    }
+
     private State(PlayersOnBoard playersOnBoard, int numberOfPlayers) {
         this.playersOnBoard = playersOnBoard;
         this.numberOfPlayers = numberOfPlayers;
@@ -40,6 +95,48 @@ public class State implements MctsDomainState<Action, Player> {
         this.lastHidersTransportation = null;
         this.inSearch = false;
         this.searchInvokingPlayerIsHider = false;
+        this.undoRecords = new ArrayList<>();
+    }
+
+    private State(State state) {
+        this.playersOnBoard = state.playersOnBoard.copy();
+        this.numberOfPlayers = state.numberOfPlayers;
+        this.currentRound = state.currentRound;
+        this.currentPlayerIndex = state.currentPlayerIndex;
+        this.previousPlayerIndex = state.previousPlayerIndex;
+        this.lastHidersTransportation = state.lastHidersTransportation;
+        this.inSearch = state.inSearch;
+        this.searchInvokingPlayerIsHider = state.searchInvokingPlayerIsHider;
+        this.searchInvokingPlayerUsesCoalitionReduction = state.searchInvokingPlayerUsesCoalitionReduction;
+        this.searchInvokingPlayerUsesMoveFiltering = state.searchInvokingPlayerUsesMoveFiltering;
+        this.undoRecords = new ArrayList<>();
+    }
+
+    public State copy() {
+        return new State(this);
+    }
+
+    public boolean contentEquals(State state) {
+        return playersOnBoard.contentEquals(state.playersOnBoard)
+                && numberOfPlayers == state.numberOfPlayers
+                && currentRound == state.currentRound
+                && currentPlayerIndex == state.currentPlayerIndex
+                && previousPlayerIndex == state.previousPlayerIndex
+                && lastHidersTransportation == state.lastHidersTransportation
+                && inSearch == state.inSearch
+                && searchInvokingPlayerIsHider == state.searchInvokingPlayerIsHider
+                && searchInvokingPlayerUsesCoalitionReduction == state.searchInvokingPlayerUsesCoalitionReduction
+                && searchInvokingPlayerUsesMoveFiltering == state.searchInvokingPlayerUsesMoveFiltering;
+    }
+
+    public long getHash() {
+        return playersOnBoard.getHash()
+                ^ ZobristKeys.currentPlayerIndex(currentPlayerIndex) ^ ZobristKeys.currentRound(currentRound);
+    }
+
+    protected long calculateHash() {
+        return playersOnBoard.calculateHash()
+                ^ ZobristKeys.currentPlayerIndex(currentPlayerIndex) ^ ZobristKeys.currentRound(currentRound);
     }
 
     public PlayersOnBoard getPlayersOnBoard() {
@@ -91,6 +188,12 @@ public class State implements MctsDomainState<Action, Player> {
         return playersOnBoard.playerIsHuman(previousPlayerIndex);
     }
 
+    public void determinizeHidersPosition() {
+        if (!inSearchFromSeekersPov())
+            throw new IllegalStateException("Error: hider's position can only be determinized in seekers' search");
+        playersOnBoard.determinizeHidersPosition();
+    }
+
     private boolean inSearchFromSeekersPov() {
         return inSearch && !searchInvokingPlayerIsHider;
     }
@@ -105,7 +208,7 @@ public class State implements MctsDomainState<Action, Player> {
     }
 
     public boolean isHiderSurfacesRound() {
-        return HIDER_SURFACES_ROUNDS.contains(currentRound);
+        return GameRules.isHiderSurfacesRound(currentRound);
     }
 
     @Override
@@ -121,7 +224,7 @@ public class State implements MctsDomainState<Action, Player> {
     }
 
     public boolean hiderWon() {
-        return currentRound == MAX_NUMBER_OF_ROUNDS;
+        return GameRules.isLastRound(currentRound);
     }
 
     public boolean seekerWon(Seeker seeker) {
@@ -133,27 +236,55 @@ public class State implements MctsDomainState<Action, Player> {
 
     @Override
     public MctsDomainState performActionForCurrentAgent(Action action) {
-        validateIsAvailableAction(action);
+        if (inSearch)
+            return performTrustedActionForCurrentAgent(action.getCode());
+        else
+            return performActionForCurrentAgent(action.getCode());
+    }
+
+    public State performActionForCurrentAgent(int actionCode) {
+        validateIsAvailableAction(actionCode);
+        return performUncheckedActionForCurrentAgent(actionCode);
+    }
+
+    public State performTrustedActionForCurrentAgent(int actionCode) {
+        if (VALIDATE_ACTIONS)
+            validateIsAvailableAction(actionCode);
+        return performUncheckedActionForCurrentAgent(actionCode);
+    }
+
+    private State performUncheckedActionForCurrentAgent(int actionCode) {
+        UndoRecord undoRecord = new UndoRecord(this, actionCode);
         if (inSearchFromSeekersPov())
-            playersOnBoard.movePlayerFromSeekersPov(currentPlayerIndex, action);
+            playersOnBoard.movePlayerFromSeekersPov(currentPlayerIndex, actionCode);
         else
-            playersOnBoard.movePlayerFromActualPosition(currentPlayerIndex, action);
-        if (currentPlayerIsHider())
-            lastHidersTransportation = action.getTransportation();
+            playersOnBoard.movePlayerFromActualPosition(currentPlayerIndex, actionCode);
+        if (currentPlayerIsHider()) {
+            lastHidersTransportation = Action.getTransportation(actionCode);
+            undoRecord.hidersPreviousPossiblePositions = playersOnBoard.copyHidersPossiblePositions();
+        }
+        else
+            undoRecord.hidersPossiblePositionRemoved = playersOnBoard.hidersPossiblePositionsContain(
+                    Action.getDestination(actionCode));
         setHidersMostProbablePosition(lastHidersTransportation);
+        if (currentPlayerIsHider())
+            undoRecord.hidersPossiblePositions = playersOnBoard.copyHidersPossiblePositions();
         prepareStateForNextPlayer();
-        performDoubleMoveIfShould();
+        undoRecord.doubleMoveCardUsed = performDoubleMoveIfShould();
+        pushUndoRecord(undoRecord);
         return this;
     }
 
-    private void validateIsAvailableAction(Action action) {
-        if (!isAvailableAction(action)) {
+    private void validateIsAvailableAction(int actionCode) {
+        if (!isAvailableAction(actionCode)) {
             throw new IllegalArgumentException("Error: invalid action passed as function parameter");
         }
     }
 
-    private boolean isAvailableAction(Action action) {
-        return getAvailableActionsForCurrentAgent().contains(action);
+    private boolean isAvailableAction(int actionCode) {
+        int[] availableActionCodes = AVAILABLE_ACTIONS_BUFFER.get();
+        int numberOfAvailableActions = fillAvailableActionCodesForCurrentAgent(availableActionCodes);
+        return containsActionCode(availableActionCodes, numberOfAvailableActions, actionCode);
     }
 
     private void setHidersMostProbablePosition(Action.Transportation transportation) {
@@ -170,88 +301,202 @@ public class State implements MctsDomainState<Action, Player> {
             playersOnBoard.recalculateHidersMostProbablePosition(transportation);
     }
 
-    private void  performDoubleMoveIfShould() {
+    private boolean performDoubleMoveIfShould() {
         if (shouldCheckForHidersDoubleMoveAutomatically()) {
             Hider hider = (Hider)getPreviousAgent();
             if (hider.shouldUseDoubleMove(playersOnBoard, searchInvokingPlayerUsesMoveFiltering)) {
-                skipAllSeekers();
-                hider.removeDoubleMoveCard();
+                useHidersDoubleMoveCard();
+                return true;
             }
         }
+        return false;
     }
 
     private boolean shouldCheckForHidersDoubleMoveAutomatically() {
         return previousPlayerIsHider() && (previousPlayerIsHuman() && inSearch || !previousPlayerIsHuman());
     }
 
-    public void skipAllSeekers() {
+    public boolean hiderHasDoubleMoveCard() {
+        return playersOnBoard.hiderHasDoubleMoveCard();
+    }
+
+    public void useHidersDoubleMoveCard() {
+        skipAllSeekers();
+        playersOnBoard.removeHidersDoubleMoveCard();
+    }
+
+    private void skipAllSeekers() {
         currentPlayerIndex--;
         currentRound++;
     }
 
     @Override
     public MctsDomainState skipCurrentAgent() {
+        UndoRecord undoRecord = new UndoRecord(this, Action.NO_ACTION);
         prepareStateForNextPlayer();
+        pushUndoRecord(undoRecord);
         return this;
     }
 
+    private void pushUndoRecord(UndoRecord undoRecord) {
+        undoRecord.hidersMostProbablePosition = playersOnBoard.getHidersMostProbablePosition();
+        undoRecords.add(undoRecord);
+    }
+
+    public UndoRecord getLastUndoRecord() {
+        if (undoRecords.isEmpty())
+            throw new IllegalStateException("Error: no action to undo");
+        return undoRecords.get(undoRecords.size() - 1);
+    }
+
+    public UndoRecord getUndoRecord(int index) {
+        if (index < 0 || index >= undoRecords.size())
+            throw new IllegalArgumentException("Error: invalid undo record index passed as function parameter");
+        return undoRecords.get(index);
+    }
+
+    public int getNumberOfUndoRecords() {
+        return undoRecords.size();
+    }
+
+    public void undoLastAction() {
+        UndoRecord undoRecord = getLastUndoRecord();
+        undoRecords.remove(undoRecords.size() - 1);
+        if (!undoRecord.isSkip())
+            playersOnBoard.returnTransportationCard(undoRecord.playerIndex, undoRecord.actionCode);
+        if (undoRecord.doubleMoveCardUsed)
+            playersOnBoard.returnHidersDoubleMoveCard();
+        playersOnBoard.restorePlayersActualPosition(undoRecord.playerIndex, undoRecord.playersPreviousPosition);
+        if (undoRecord.hidersPreviousPossiblePositions != null)
+            playersOnBoard.restoreHidersPossiblePositions(undoRecord.hidersPreviousPossiblePositions);
+        else if (undoRecord.hidersPossiblePositionRemoved)
+            playersOnBoard.addHidersPossiblePosition(Action.getDestination(undoRecord.actionCode));
+        playersOnBoard.restoreHidersMostProbablePositions(undoRecord.hidersPreviousMostProbablePosition,
+                undoRecord.hidersPreviousMostProbablePositionPreviousRound);
+        currentRound = undoRecord.previousRound;
+        currentPlayerIndex = undoRecord.playerIndex;
+        previousPlayerIndex = undoRecord.previousPreviousPlayerIndex;
+        lastHidersTransportation = undoRecord.previousLastHidersTransportation;
+    }
+
+    public UndoRecord rebaseUndoRecord(UndoRecord undoRecord) {
+        validateUndoRecordStartsFromCurrentTurn(undoRecord);
+        if (undoRecord.isSkip())
+            skipCurrentAgent();
+        else {
+            performUncheckedActionForCurrentAgent(undoRecord.actionCode);
+            playersOnBoard.keepHidersMostProbablePositionIfPossible(undoRecord.hidersMostProbablePosition);
+        }
+        UndoRecord rebasedUndoRecord = getLastUndoRecord();
+        rebasedUndoRecord.hidersMostProbablePosition = playersOnBoard.getHidersMostProbablePosition();
+        undoLastAction();
+        return rebasedUndoRecord;
+    }
+
+    public void redoAction(UndoRecord undoRecord) {
+        validateUndoRecordStartsFromCurrentTurn(undoRecord);
+        if (!undoRecord.isSkip())
+            redoMove(undoRecord);
+        prepareStateForNextPlayer();
+        if (undoRecord.doubleMoveCardUsed)
+            useHidersDoubleMoveCard();
+        undoRecords.add(undoRecord);
+    }
+
+    private void validateUndoRecordStartsFromCurrentTurn(UndoRecord undoRecord) {
+        if (undoRecord.previousRound != currentRound || undoRecord.playerIndex != currentPlayerIndex)
+            throw new IllegalArgumentException("Error: invalid undo record passed as function parameter");
+    }
+
+    private void redoMove(UndoRecord undoRecord) {
+        int hidersMostProbablePositionPreviousRound = undoRecord.hidersPreviousMostProbablePosition;
+        if (inSearchFromSeekersPov())
+            playersOnBoard.movePlayerFromSeekersPov(currentPlayerIndex, undoRecord.actionCode);
+        else
+            playersOnBoard.movePlayerFromActualPosition(currentPlayerIndex, undoRecord.actionCode);
+        if (currentPlayerIsHider()) {
+            if (inSearchFromSeekersPov())
+                hidersMostProbablePositionPreviousRound = Action.getDestination(undoRecord.actionCode);
+            lastHidersTransportation = Action.getTransportation(undoRecord.actionCode);
+            playersOnBoard.restoreHidersPossiblePositions(undoRecord.hidersPossiblePositions);
+        }
+        else if (undoRecord.hidersPossiblePositionRemoved)
+            playersOnBoard.removeHidersPossiblePosition(Action.getDestination(undoRecord.actionCode));
+        playersOnBoard.restoreHidersMostProbablePositions(undoRecord.hidersMostProbablePosition,
+                hidersMostProbablePositionPreviousRound);
+    }
+
     @Override
     public int getNumberOfAvailableActionsForCurrentAgent() {
-        return getAvailableActionsForCurrentAgent().size();
+        return fillAvailableActionCodesForCurrentAgent(AVAILABLE_ACTIONS_BUFFER.get());
     }
 
     @Override
     public List<Action> getAvailableActionsForCurrentAgent() {
-        List<Action> availableActions;
+        int[] availableActionCodes = createAvailableActionsBuffer();
+        int numberOfAvailableActions = fillAvailableActionCodesForCurrentAgent(availableActionCodes);
+        return Action.fromCodes(availableActionCodes, numberOfAvailableActions);
+    }
+
+    public static int[] createAvailableActionsBuffer() {
+        return new int[Board.getInstance().getMaximumNumberOfAvailableActions()];
+    }
+
+    public int fillAvailableActionCodesForCurrentAgent(int[] availableActionCodes) {
+        int numberOfAvailableActions;
         if (inSearchFromSeekersPov())
-            availableActions = playersOnBoard.getAvailableActionsFromSeekersPov(currentPlayerIndex);
+            numberOfAvailableActions = playersOnBoard.fillAvailableActionCodesFromSeekersPov(
+                    currentPlayerIndex, availableActionCodes);
         else
-            availableActions = playersOnBoard.getAvailableActionsForActualPosition(currentPlayerIndex);
-        availableActions = addHidersBlackFairActions(availableActions);
-        return availableActions;
+            numberOfAvailableActions = playersOnBoard.fillAvailableActionCodesForActualPosition(
+                    currentPlayerIndex, availableActionCodes);
+        return addHidersBlackFairActions(availableActionCodes, numberOfAvailableActions);
     }
 
-    private List<Action> addHidersBlackFairActions(List<Action> actions) {
+    private int addHidersBlackFairActions(int[] actionCodes, int numberOfActions) {
         if (currentPlayerIsHider()) {
             if (notHumanInSearch())
-                return addBlackFareActionsIfAvailableTickets(
-                        (Hider) playersOnBoard.getPlayerAtIndex(currentPlayerIndex), actions);
+                return addBlackFareActionsIfAvailableTickets(actionCodes, numberOfActions);
             else
                 return addBlackFareActionsForHiderIfOptimal(
-                        (Hider) playersOnBoard.getPlayerAtIndex(currentPlayerIndex), actions);
+                        (Hider) playersOnBoard.getPlayerAtIndex(currentPlayerIndex), actionCodes, numberOfActions);
         }
-        return actions;
+        return numberOfActions;
     }
 
     private boolean notHumanInSearch() {
         return currentPlayerIsHuman() && !inSearch;
     }
 
-    List<Action> addBlackFareActionsIfAvailableTickets(Hider hider, List<Action> actions) {
-        if (hider.hasBlackFareTicket())
-            return addBlackFareActions(actions);
-        return actions;
-    }
-
-    List<Action> addBlackFareActionsForHiderIfOptimal(Hider hider, List<Action> actions) {
-        if (hider.shouldUseBlackfareTicket(currentRound, actions, searchInvokingPlayerUsesMoveFiltering))
-            return addBlackFareActions(actions);
-        return actions;
+    int addBlackFareActionsIfAvailableTickets(int[] actionCodes, int numberOfActions) {
+        if (playersOnBoard.hiderHasBlackFareTicket())
+            return addBlackFareActions(actionCodes, numberOfActions);
+        return numberOfActions;
     }
 
-    private List<Action> addBlackFareActions(List<Action> actions) {
-        List<Action> blackFareActions = generateBlackfareActions(actions);
-        actions.addAll(blackFareActions);
-        return removeDuplicates(actions);
+    int addBlackFareActionsForHiderIfOptimal(Hider hider, int[] actionCodes, int numberOfActions) {
+        if (playersOnBoard.hiderHasBlackFareTicket() && hider.shouldUseBlackfareTicket(currentRound, actionCodes,
+                numberOfActions, searchInvokingPlayerUsesMoveFiltering))
+            return addBlackFareActions(actionCodes, numberOfActions);
+        return numberOfActions;
     }
 
-    private List<Action> generateBlackfareActions(List<Action> actions) {
-        return actions.stream()
-                .map(Action::generateBlackFareAction).collect(Collectors.toList());
+    private int addBlackFareActions(int[] actionCodes, int numberOfActions) {
+        int numberOfAllActions = numberOfActions;
+        for (int i = 0; i < numberOfActions; i++) {
+            int blackFareActionCode = Action.toBlackFareCode(actionCodes[i]);
+            if (!containsActionCode(actionCodes, numberOfAllActions, blackFareActionCode))
+                actionCodes[numberOfAllActions++] = blackFareActionCode;
+        }
+        return numberOfAllActions;
     }
 
-    private List<Action> removeDuplicates(List<Action> actions) {
-        return new ArrayList<>(new LinkedHashSet<>(actions));
+    private static boolean containsActionCode(int[] actionCodes, int numberOfActions, int actionCode) {
+        for (int i = 0; i < numberOfActions; i++) {
+            if (actionCodes[i] == actionCode)
+                return true;
+        }
+        return false;
     }
 
     private void prepareStateForNextPlayer() {
@@ -265,6 +510,21 @@ public class State implements MctsDomainState<Action, Player> {
         return currentPlayerIndex == numberOfPlayers - 1;
     }
 
+    public SimulationState createSimulationState() {
+        return new SimulationState(playersOnBoard, currentRound, currentPlayerIndex, previousPlayerIndex,
+                lastHidersTransportation, inSearch, searchInvokingPlayerIsHider,
+                searchInvokingPlayerUsesCoalitionReduction, searchInvokingPlayerUsesMoveFiltering);
+    }
+
+    public void setSimulationResult(SimulationState simulationState) {
+        undoRecords.clear();
+        playersOnBoard.setSimulationResult(simulationState);
+        currentRound = simulationState.getCurrentRound();
+        currentPlayerIndex = simulationState.getCurrentPlayerIndex();
+        previousPlayerIndex = simulationState.getPreviousPlayerIndex();
+        lastHidersTransportation = simulationState.getLastHidersTransportation();
+    }
+
     public void printAllPositions() {
         playersOnBoard.printPlayers(ALL_PLAYERS);
     }
@@ -0,0 +1,74 @@
+package io.github.nejc92.sy.game;
+
+final class ZobristKeys {
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int FEATURE_SHIFT = 48;
+    private static final int FIRST_INDEX_SHIFT = 32;
+    private static final int SECOND_INDEX_SHIFT = 16;
+    private static final long INDEX_MASK = 0xFFFF;
+    private static final int PLAYERS_POSITION = 1;
+    private static final int PLAYERS_TICKETS = 2;
+    private static final int HIDERS_POSSIBLE_POSITION = 3;
+    private static final int CURRENT_PLAYER_INDEX = 4;
+    private static final int CURRENT_ROUND = 5;
+    private static final int BITS_PER_WORD = Long.SIZE;
+
+    private ZobristKeys() {
+    }
+
+    protected static long playersPosition(int playerIndex, int position) {
+        return key(PLAYERS_POSITION, playerIndex, position, 0);
+    }
+
+    protected static long playersTickets(int playerIndex, int ticketsIndex, int numberOfTickets) {
+        return key(PLAYERS_TICKETS, playerIndex, ticketsIndex, numberOfTickets);
+    }
+
+    protected static long hidersPossiblePosition(int position) {
+        return key(HIDERS_POSSIBLE_POSITION, position, 0, 0);
+    }
+
+    protected static long hidersPossiblePositions(long[] bitSet) {
+        long hash = 0;
+        for (int position = PositionsBitSet.nextPosition(bitSet, 0); position >= 0;
+             position = PositionsBitSet.nextPosition(bitSet, position + 1))
+            hash ^= hidersPossiblePosition(position);
+        return hash;
+    }
+
+    protected static long hidersPossiblePositionsDifference(long[] bitSet, long[] otherBitSet) {
+        long hash = 0;
+        for (int i = 0; i < bitSet.length; i++) {
+            long difference = bitSet[i] ^ otherBitSet[i];
+            while (difference != 0) {
+                hash ^= hidersPossiblePosition(i * BITS_PER_WORD + Long.numberOfTrailingZeros(difference));
+                difference &= difference - 1;
+            }
+        }
+        return hash;
+    }
+
+    protected static long currentPlayerIndex(int playerIndex) {
+        return key(CURRENT_PLAYER_INDEX, playerIndex, 0, 0);
+    }
+
+    protected static long currentRound(int round) {
+        return key(CURRENT_ROUND, round, 0, 0);
+    }
+
+    private static long key(int feature, int firstIndex, int secondIndex, int thirdIndex) {
+        long index = (long) feature << FEATURE_SHIFT
+                | (firstIndex & INDEX_MASK) << FIRST_INDEX_SHIFT
+                | (secondIndex & INDEX_MASK) << SECOND_INDEX_SHIFT
+                | thirdIndex & INDEX_MASK;
+        return mix(SEED + index * GOLDEN_GAMMA);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
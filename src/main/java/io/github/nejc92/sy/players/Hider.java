@@ -2,88 +2,85 @@ package io.github.nejc92.sy.players;
 
 import io.github.nejc92.sy.game.Action;
 import io.github.nejc92.sy.game.PlayersOnBoard;
+import io.github.nejc92.sy.game.SimulationState;
 import io.github.nejc92.sy.game.State;
 import io.github.nejc92.sy.strategies.CoalitionReduction;
 import io.github.nejc92.sy.strategies.MoveFiltering;
 import io.github.nejc92.sy.strategies.Playouts;
 
-import java.util.List;
-
 public class Hider extends Player {
 
     private static final int TAXI_TICKETS = 4;
     private static final int BUS_TICKETS = 3;
     private static final int UNDERGROUND_TICKETS = 3;
-
-    private int doubleMoveCards;
-    private int blackFareTickets;
+    private static final int DOUBLE_MOVE_CARDS = 2;
+    private static final int BLACK_FARE_TICKETS = 5;
 
     public Hider(Operator operator, String name, Playouts.Uses playout, CoalitionReduction.Uses coalitionReduction,
                  MoveFiltering.Uses moveFiltering) {
         super(operator, Type.HIDER, name, TAXI_TICKETS, BUS_TICKETS, UNDERGROUND_TICKETS,
                 playout, coalitionReduction, moveFiltering);
-        this.doubleMoveCards = 2;
-        this.blackFareTickets = 5;
-    }
-
-    public void removeDoubleMoveCard() {
-        doubleMoveCards--;
     }
 
-    public void removeBlackFareTicket() {
-        blackFareTickets--;
+    public int getInitialDoubleMoveCards() {
+        return DOUBLE_MOVE_CARDS;
     }
 
-    public boolean hasDoubleMoveCard() {
-        return doubleMoveCards > 0;
-    }
-
-    public boolean hasBlackFareTicket() {
-        return blackFareTickets > 0;
+    public int getInitialBlackFareTickets() {
+        return BLACK_FARE_TICKETS;
     }
 
     @Override
-    public void addTicket(Action.Transportation transportation) {
-        super.addTicket(transportation);
+    protected int getActionCodeForHiderFromStatesAvailableActionsForSimulation(
+            SimulationState state, int[] availableActionCodes, int numberOfAvailableActions) {
+        if (this.usesBiasedPlayout())
+            return Playouts.getGreedyBiasedActionCodeForHider(
+                    state, availableActionCodes, numberOfAvailableActions);
+        else
+            return Playouts.getRandomActionCode(availableActionCodes, numberOfAvailableActions);
     }
 
     @Override
-    protected Action getActionForHiderFromStatesAvailableActionsForSimulation(State state) {
+    protected int getActionCodeForSeekerFromStatesAvailableActionsForSimulation(
+            SimulationState state, int[] availableActionCodes, int numberOfAvailableActions) {
         if (this.usesBiasedPlayout())
-            return Playouts.getGreedyBiasedActionForHider(state);
+            return Playouts.getGreedyBiasedActionCodeForSeeker(
+                    state, availableActionCodes, numberOfAvailableActions);
         else
-            return Playouts.getRandomAction(state);
+            return Playouts.getRandomActionCode(availableActionCodes, numberOfAvailableActions);
     }
 
     @Override
-    protected Action getActionForSeekerFromStatesAvailableActionsForSimulation(State state) {
-        if (this.usesBiasedPlayout())
-            return Playouts.getGreedyBiasedActionForSeeker(state);
+    public double getRewardFromTerminalState(State state) {
+        if (state.hiderWon())
+            return 1;
         else
-            return Playouts.getRandomAction(state);
+            return 0;
     }
 
     @Override
-    public double getRewardFromTerminalState(State state) {
+    public double getRewardFromTerminalState(SimulationState state) {
         if (state.hiderWon())
             return 1;
         else
             return 0;
     }
 
-    public boolean shouldUseBlackfareTicket(int currentRound, List<Action> actions,
+    public boolean shouldUseBlackfareTicket(int currentRound, int[] actionCodes, int numberOfActions,
                                             boolean searchInvokingPlayerUsesMoveFiltering) {
         if (searchInvokingPlayerUsesMoveFiltering)
-            return hasBlackFareTicket() && MoveFiltering.optimalToUseBlackFareTicket(currentRound, actions);
+            return MoveFiltering.optimalToUseBlackFareTicket(currentRound, actionCodes, numberOfActions);
         else
-            return hasBlackFareTicket() && MoveFiltering.shouldUseBlackFareTicketGreedy();
+            return MoveFiltering.shouldUseBlackFareTicketGreedy();
     }
 
     public boolean shouldUseDoubleMove(PlayersOnBoard playersOnBoard,
                                        boolean searchInvokingPlayerUsesMoveFiltering) {
-        if (searchInvokingPlayerUsesMoveFiltering)
-            return hasDoubleMoveCard() && MoveFiltering.optimalToUseDoubleMoveCard(playersOnBoard);
+        if (!playersOnBoard.hiderHasDoubleMoveCard())
+            return false;
+        else if (searchInvokingPlayerUsesMoveFiltering)
+            return MoveFiltering.optimalToUseDoubleMoveCard(playersOnBoard);
         else
-            return hasDoubleMoveCard() && MoveFiltering.shouldUseDoubleMoveCardGreedy();
+            return MoveFiltering.shouldUseDoubleMoveCardGreedy();
     }
 }
\ No newline at end of file
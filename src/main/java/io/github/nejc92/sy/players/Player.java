@@ -2,6 +2,7 @@ package io.github.nejc92.sy.players;
 
 import io.github.nejc92.mcts.MctsDomainAgent;
 import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.SimulationState;
 import io.github.nejc92.sy.game.State;
 import io.github.nejc92.sy.strategies.CoalitionReduction;
 import io.github.nejc92.sy.strategies.MoveFiltering;
@@ -29,9 +30,9 @@ public abstract class Player implements MctsDomainAgent<State> {
     protected final String name;
     private final Operator operator;
     private final Type type;
-    private int taxiTickets;
-    private int busTickets;
-    private int undergroundTickets;
+    private final int taxiTickets;
+    private final int busTickets;
+    private final int undergroundTickets;
     private final Playouts.Uses playout;
     private final CoalitionReduction.Uses coalitionReduction;
     private final MoveFiltering.Uses moveFiltering;
@@ -50,15 +51,19 @@ public abstract class Player implements MctsDomainAgent<State> {
         this.moveFiltering = moveFiltering;
     }
 
-    public int getTaxiTickets() {
+    public String getName() {
+        return name;
+    }
+
+    public int getInitialTaxiTickets() {
         return taxiTickets;
     }
 
-    public int getBusTickets() {
+    public int getInitialBusTickets() {
         return busTickets;
     }
 
-    public int getUndergroundTickets() {
+    public int getInitialUndergroundTickets() {
         return undergroundTickets;
     }
 
@@ -78,57 +83,30 @@ public abstract class Player implements MctsDomainAgent<State> {
         return operator == Operator.RANDOM;
     }
 
-    public boolean hasTaxiTickets() {
-        return taxiTickets > 0;
-    }
-
-    public boolean hasBusTickets() {
-        return busTickets > 0;
-    }
-
-    public boolean hasUndergroundTickets() {
-        return undergroundTickets > 0;
-    }
-
-    public void removeTicket(Action.Transportation transportation) {
-        switch (transportation) {
-            case TAXI:
-                taxiTickets--;
-                break;
-            case BUS:
-                busTickets--;
-                break;
-            case UNDERGROUND:
-                undergroundTickets--;
-        }
-    }
-
-    protected void addTicket(Action.Transportation transportation) {
-        switch (transportation) {
-            case TAXI:
-                taxiTickets++;
-                break;
-            case BUS:
-                busTickets++;
-                break;
-            case UNDERGROUND:
-                undergroundTickets++;
-        }
-    }
-
     @Override
     public final State getTerminalStateByPerformingSimulationFromState(State state) {
-        while (!state.isTerminal()) {
-            Action action = getActionForCurrentPlayerType(state);
-            if (action != null) {
-                state.performActionForCurrentAgent(action);
+        state.setSimulationResult(getTerminalStateByPerformingSimulation(state.createSimulationState()));
+        return state;
+    }
+
+    public final SimulationState getTerminalStateByPerformingSimulation(SimulationState simulationState) {
+        int[] availableActionCodes = State.createAvailableActionsBuffer();
+        while (!simulationState.isTerminal()) {
+            int numberOfAvailableActions = simulationState.fillAvailableActionCodesForCurrentAgent(
+                    availableActionCodes);
+            int actionCode = getActionCodeForCurrentPlayerType(
+                    simulationState, availableActionCodes, numberOfAvailableActions);
+            if (actionCode != Action.NO_ACTION) {
+                simulationState.performActionForCurrentAgent(actionCode);
             }
             else
-                state.skipCurrentAgent();
+                simulationState.skipCurrentAgent();
         }
-        return state;
+        return simulationState;
     }
 
+    public abstract double getRewardFromTerminalState(SimulationState terminalState);
+
     public boolean usesBiasedPlayout () {
         switch (playout) {
             case BASIC:
@@ -156,16 +134,21 @@ public abstract class Player implements MctsDomainAgent<State> {
         }
     }
 
-    private Action getActionForCurrentPlayerType(State state) {
+    private int getActionCodeForCurrentPlayerType(SimulationState state, int[] availableActionCodes,
+                                                  int numberOfAvailableActions) {
         if (state.currentPlayerIsHider())
-            return getActionForHiderFromStatesAvailableActionsForSimulation(state);
+            return getActionCodeForHiderFromStatesAvailableActionsForSimulation(
+                    state, availableActionCodes, numberOfAvailableActions);
         else
-            return getActionForSeekerFromStatesAvailableActionsForSimulation(state);
+            return getActionCodeForSeekerFromStatesAvailableActionsForSimulation(
+                    state, availableActionCodes, numberOfAvailableActions);
     }
 
-    protected abstract Action getActionForHiderFromStatesAvailableActionsForSimulation(State state);
+    protected abstract int getActionCodeForHiderFromStatesAvailableActionsForSimulation(
+            SimulationState state, int[] availableActionCodes, int numberOfAvailableActions);
 
-    protected abstract Action getActionForSeekerFromStatesAvailableActionsForSimulation(State state);
+    protected abstract int getActionCodeForSeekerFromStatesAvailableActionsForSimulation(
+            SimulationState state, int[] availableActionCodes, int numberOfAvailableActions);
 
     @Override
     public String toString() {
@@ -1,6 +1,6 @@
 package io.github.nejc92.sy.players;
 
-import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.SimulationState;
 import io.github.nejc92.sy.game.State;
 import io.github.nejc92.sy.strategies.CoalitionReduction;
 import io.github.nejc92.sy.strategies.MoveFiltering;
@@ -20,19 +20,23 @@ public class Seeker extends Player {
     }
 
     @Override
-    protected Action getActionForHiderFromStatesAvailableActionsForSimulation(State state) {
+    protected int getActionCodeForHiderFromStatesAvailableActionsForSimulation(
+            SimulationState state, int[] availableActionCodes, int numberOfAvailableActions) {
         if (this.usesBiasedPlayout())
-            return Playouts.getGreedyBiasedActionForHider(state);
+            return Playouts.getGreedyBiasedActionCodeForHider(
+                    state, availableActionCodes, numberOfAvailableActions);
         else
-            return Playouts.getRandomAction(state);
+            return Playouts.getRandomActionCode(availableActionCodes, numberOfAvailableActions);
     }
 
     @Override
-    protected Action getActionForSeekerFromStatesAvailableActionsForSimulation(State state) {
+    protected int getActionCodeForSeekerFromStatesAvailableActionsForSimulation(
+            SimulationState state, int[] availableActionCodes, int numberOfAvailableActions) {
         if (this.usesBiasedPlayout())
-            return Playouts.getGreedyBiasedActionForSeeker(state);
+            return Playouts.getGreedyBiasedActionCodeForSeeker(
+                    state, availableActionCodes, numberOfAvailableActions);
         else
-            return Playouts.getRandomAction(state);
+            return Playouts.getRandomActionCode(availableActionCodes, numberOfAvailableActions);
     }
 
     @Override
@@ -43,6 +47,14 @@ public class Seeker extends Player {
             return CoalitionReduction.getNormalRewardFromTerminalState(state);
     }
 
+    @Override
+    public double getRewardFromTerminalState(SimulationState state) {
+        if (state.searchInvokingPlayerUsesCoalitionReduction())
+            return CoalitionReduction.getCoalitionReductionRewardFromTerminalState(state, this);
+        else
+            return CoalitionReduction.getNormalRewardFromTerminalState(state);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,34 @@
+package io.github.nejc92.sy.search;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SearchBudget {
+
+    protected static final long NO_TIME_BUDGET = 0;
+
+    private final int numberOfIterations;
+    private final boolean timed;
+    private final long deadline;
+    private final AtomicInteger numberOfCompletedIterations;
+
+    protected SearchBudget(int numberOfIterations, long timeBudgetNanos) {
+        this.numberOfIterations = numberOfIterations;
+        this.timed = timeBudgetNanos != NO_TIME_BUDGET;
+        this.deadline = System.nanoTime() + timeBudgetNanos;
+        this.numberOfCompletedIterations = new AtomicInteger();
+    }
+
+    protected boolean allowsIteration(int iteration) {
+        if (iteration >= numberOfIterations)
+            return false;
+        return iteration == 0 || !timed || System.nanoTime() - deadline < 0;
+    }
+
+    protected void addCompletedIterations(int completedIterations) {
+        numberOfCompletedIterations.addAndGet(completedIterations);
+    }
+
+    protected int getNumberOfCompletedIterations() {
+        return numberOfCompletedIterations.get();
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.nejc92.sy.search;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.SimulationState;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.players.Player;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class SharedTreeNode {
+
+    private static final int VIRTUAL_LOSS = 1;
+
+    private final SharedTreeNode parent;
+    private final Action actionTaken;
+    private final State.UndoRecord undoRecord;
+    private final Player previousAgent;
+    private final boolean terminal;
+    private final List<SharedTreeNode> children;
+    private final List<Action> untriedActions;
+    private final AtomicInteger nextUntriedActionIndex;
+    private final AtomicBoolean expandedWithoutAction;
+    private final AtomicInteger visitCount;
+    private final AtomicInteger virtualLoss;
+    private final AtomicLong totalReward;
+
+    protected static SharedTreeNode createRootNode(State state) {
+        return new SharedTreeNode(null, null, null, state, 0);
+    }
+
+    private SharedTreeNode(SharedTreeNode parent, Action actionTaken, State.UndoRecord undoRecord, State state,
+                           int virtualLoss) {
+        this.parent = parent;
+        this.actionTaken = actionTaken;
+        this.undoRecord = undoRecord;
+        this.previousAgent = state.getPreviousAgent();
+        this.terminal = state.isTerminal();
+        this.children = new CopyOnWriteArrayList<>();
+        this.untriedActions = state.getAvailableActionsForCurrentAgent();
+        Collections.shuffle(untriedActions, ThreadLocalRandom.current());
+        this.nextUntriedActionIndex = new AtomicInteger();
+        this.expandedWithoutAction = new AtomicBoolean();
+        this.visitCount = new AtomicInteger();
+        this.virtualLoss = new AtomicInteger(virtualLoss);
+        this.totalReward = new AtomicLong(Double.doubleToLongBits(0));
+    }
+
+    protected SharedTreeNode getParent() {
+        return parent;
+    }
+
+    protected Action getActionTaken() {
+        return actionTaken;
+    }
+
+    protected boolean representsTerminalState() {
+        return terminal;
+    }
+
+    protected SharedTreeNode expand(State state) {
+        if (untriedActions.isEmpty())
+            return expandWithoutAction(state);
+        int index = nextUntriedActionIndex.getAndIncrement();
+        if (index >= untriedActions.size())
+            return null;
+        Action action = untriedActions.get(index);
+        state.performActionForCurrentAgent(action);
+        return addChild(action, state);
+    }
+
+    private SharedTreeNode expandWithoutAction(State state) {
+        if (!expandedWithoutAction.compareAndSet(false, true))
+            return null;
+        state.skipCurrentAgent();
+        return addChild(null, state);
+    }
+
+    private SharedTreeNode addChild(Action action, State state) {
+        SharedTreeNode child = new SharedTreeNode(this, action, state.getLastUndoRecord(), state, VIRTUAL_LOSS);
+        children.add(child);
+        return child;
+    }
+
+    protected void redoActionTaken(State state) {
+        state.redoAction(undoRecord);
+    }
+
+    protected SharedTreeNode getChildWithMaxUctValue(double explorationParameter) {
+        SharedTreeNode bestChild = null;
+        double bestUctValue = Double.NEGATIVE_INFINITY;
+        double logOfVisitCount = Math.log(getVisitCountWithVirtualLoss());
+        for (SharedTreeNode child : children) {
+            double uctValue = child.calculateUctValue(explorationParameter, logOfVisitCount);
+            if (uctValue > bestUctValue) {
+                bestChild = child;
+                bestUctValue = uctValue;
+            }
+        }
+        return bestChild;
+    }
+
+    private double calculateUctValue(double explorationParameter, double logOfParentsVisitCount) {
+        int visitCountWithVirtualLoss = getVisitCountWithVirtualLoss();
+        return getTotalReward() / visitCountWithVirtualLoss
+                + explorationParameter * Math.sqrt(2 * logOfParentsVisitCount / visitCountWithVirtualLoss);
+    }
+
+    private int getVisitCountWithVirtualLoss() {
+        return visitCount.get() + virtualLoss.get();
+    }
+
+    protected void addVirtualLoss() {
+        virtualLoss.addAndGet(VIRTUAL_LOSS);
+    }
+
+    protected void updateDomainTheoreticValue(SimulationState terminalState) {
+        addReward(previousAgent.getRewardFromTerminalState(terminalState));
+        visitCount.incrementAndGet();
+        virtualLoss.addAndGet(-VIRTUAL_LOSS);
+    }
+
+    private void addReward(double reward) {
+        long currentReward;
+        long updatedReward;
+        do {
+            currentReward = totalReward.get();
+            updatedReward = Double.doubleToLongBits(Double.longBitsToDouble(currentReward) + reward);
+        } while (!totalReward.compareAndSet(currentReward, updatedReward));
+    }
+
+    protected double getTotalReward() {
+        return Double.longBitsToDouble(totalReward.get());
+    }
+}
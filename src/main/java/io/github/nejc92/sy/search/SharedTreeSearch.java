@@ -0,0 +1,88 @@
+package io.github.nejc92.sy.search;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.SimulationState;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.players.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SharedTreeSearch {
+
+    private static final double NO_EXPLORATION = 0;
+
+    private final SearchBudget searchBudget;
+    private final int numberOfThreads;
+    private final ExecutorService executorService;
+    private final AtomicInteger numberOfStartedIterations;
+
+    protected SharedTreeSearch(SearchBudget searchBudget, int numberOfThreads, ExecutorService executorService) {
+        this.searchBudget = searchBudget;
+        this.numberOfThreads = numberOfThreads;
+        this.executorService = executorService;
+        this.numberOfStartedIterations = new AtomicInteger();
+    }
+
+    protected Action uctSearchWithExploration(State state, double explorationParameter) {
+        SharedTreeNode rootNode = SharedTreeNode.createRootNode(state);
+        List<Future<SharedTreeNode>> workers = new ArrayList<>(numberOfThreads - 1);
+        for (int i = 1; i < numberOfThreads; i++) {
+            State searchState = state.copy();
+            workers.add(executorService.submit(() -> search(rootNode, searchState, explorationParameter)));
+        }
+        search(rootNode, state.copy(), explorationParameter);
+        for (Future<SharedTreeNode> worker : workers)
+            TreeSearch.getSearchResult(worker);
+        return rootNode.getChildWithMaxUctValue(NO_EXPLORATION).getActionTaken();
+    }
+
+    private SharedTreeNode search(SharedTreeNode rootNode, State searchState, double explorationParameter) {
+        Player searchInvokingPlayer = searchState.getCurrentAgent();
+        int completedIterations = 0;
+        while (searchBudget.allowsIteration(numberOfStartedIterations.getAndIncrement())) {
+            SharedTreeNode selectedNode = selectAndExpandNewNode(rootNode, searchState, explorationParameter);
+            SimulationState terminalState = searchInvokingPlayer.getTerminalStateByPerformingSimulation(
+                    searchState.createSimulationState());
+            backPropagate(selectedNode, terminalState);
+            rollBack(selectedNode, searchState);
+            completedIterations++;
+        }
+        searchBudget.addCompletedIterations(completedIterations);
+        return rootNode;
+    }
+
+    private SharedTreeNode selectAndExpandNewNode(SharedTreeNode node, State searchState,
+                                                  double explorationParameter) {
+        node.addVirtualLoss();
+        while (!node.representsTerminalState()) {
+            SharedTreeNode child = node.expand(searchState);
+            if (child != null)
+                return child;
+            child = node.getChildWithMaxUctValue(explorationParameter);
+            if (child == null)
+                return node;
+            child.addVirtualLoss();
+            child.redoActionTaken(searchState);
+            node = child;
+        }
+        return node;
+    }
+
+    private void backPropagate(SharedTreeNode node, SimulationState terminalState) {
+        while (node != null) {
+            node.updateDomainTheoreticValue(terminalState);
+            node = node.getParent();
+        }
+    }
+
+    private void rollBack(SharedTreeNode node, State searchState) {
+        while (node.getParent() != null) {
+            searchState.undoLastAction();
+            node = node.getParent();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.nejc92.sy.search;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.SimulationState;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.players.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+class TranspositionNode {
+
+    static class Edge {
+
+        private final Action actionTaken;
+        private final State.UndoRecord undoRecord;
+        private int visitCount;
+        private double totalReward;
+
+        private Edge(Action actionTaken, State.UndoRecord undoRecord) {
+            this.actionTaken = actionTaken;
+            this.undoRecord = undoRecord;
+            this.visitCount = 0;
+            this.totalReward = 0;
+        }
+
+        protected Action getActionTaken() {
+            return actionTaken;
+        }
+
+        private double calculateUctValue(double explorationParameter, int parentVisitCount) {
+            return totalReward / visitCount
+                    + explorationParameter * Math.sqrt(2 * Math.log(parentVisitCount) / visitCount);
+        }
+    }
+
+    private final long hash;
+    private final Player currentAgent;
+    private final boolean terminal;
+    private final List<Edge> edges;
+    private final List<Action> untriedActions;
+    private int visitCount;
+
+    protected TranspositionNode(State state) {
+        this.hash = state.getHash();
+        this.currentAgent = state.getCurrentAgent();
+        this.terminal = state.isTerminal();
+        this.edges = new ArrayList<>();
+        this.untriedActions = state.getAvailableActionsForCurrentAgent();
+        this.visitCount = 0;
+    }
+
+    protected long getHash() {
+        return hash;
+    }
+
+    protected int getVisitCount() {
+        return visitCount;
+    }
+
+    protected boolean representsTerminalState() {
+        return terminal;
+    }
+
+    protected boolean isFullyExpanded() {
+        return untriedActions.isEmpty() && !edges.isEmpty();
+    }
+
+    protected boolean hasUntriedActions() {
+        return !untriedActions.isEmpty();
+    }
+
+    protected Edge expandWithRandomUntriedAction(State state) {
+        int index = ThreadLocalRandom.current().nextInt(untriedActions.size());
+        Action action = untriedActions.remove(index);
+        state.performActionForCurrentAgent(action);
+        return addEdge(action, state);
+    }
+
+    protected Edge expandWithoutAction(State state) {
+        state.skipCurrentAgent();
+        return addEdge(null, state);
+    }
+
+    private Edge addEdge(Action action, State state) {
+        Edge edge = new Edge(action, state.getLastUndoRecord());
+        edges.add(edge);
+        return edge;
+    }
+
+    protected Edge selectEdgeWithMaxUctValue(State state, double explorationParameter) {
+        Edge bestEdge = getEdgeWithMaxUctValue(explorationParameter);
+        state.redoAction(bestEdge.undoRecord);
+        return bestEdge;
+    }
+
+    protected Edge getEdgeWithMaxUctValue(double explorationParameter) {
+        Edge bestEdge = null;
+        double bestUctValue = Double.NEGATIVE_INFINITY;
+        for (Edge edge : edges) {
+            double uctValue = edge.calculateUctValue(explorationParameter, visitCount);
+            if (uctValue > bestUctValue) {
+                bestEdge = edge;
+                bestUctValue = uctValue;
+            }
+        }
+        return bestEdge;
+    }
+
+    protected void updateDomainTheoreticValue(Edge edge, SimulationState terminalState) {
+        visitCount++;
+        if (edge != null) {
+            edge.totalReward += currentAgent.getRewardFromTerminalState(terminalState);
+            edge.visitCount++;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.nejc92.sy.search;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.SimulationState;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.players.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TranspositionSearch {
+
+    private static final double NO_EXPLORATION = 0;
+
+    private final SearchBudget searchBudget;
+    private final TranspositionTable transpositionTable;
+    private final List<TranspositionNode> selectedNodes;
+    private final List<TranspositionNode.Edge> selectedEdges;
+
+    protected TranspositionSearch(SearchBudget searchBudget, int transpositionTableCapacity) {
+        this.searchBudget = searchBudget;
+        this.transpositionTable = new TranspositionTable(transpositionTableCapacity);
+        this.selectedNodes = new ArrayList<>();
+        this.selectedEdges = new ArrayList<>();
+    }
+
+    protected Action uctSearchWithExploration(State state, double explorationParameter) {
+        State searchState = state.copy();
+        TranspositionNode rootNode = transpositionTable.put(searchState);
+        Player searchInvokingPlayer = state.getCurrentAgent();
+        int iteration = 0;
+        while (searchBudget.allowsIteration(iteration)) {
+            selectAndExpandNewNode(rootNode, searchState, explorationParameter);
+            backPropagate(searchInvokingPlayer.getTerminalStateByPerformingSimulation(
+                    searchState.createSimulationState()));
+            rollBack(searchState);
+            iteration++;
+        }
+        searchBudget.addCompletedIterations(iteration);
+        return rootNode.getEdgeWithMaxUctValue(NO_EXPLORATION).getActionTaken();
+    }
+
+    private void selectAndExpandNewNode(TranspositionNode node, State searchState, double explorationParameter) {
+        selectedNodes.add(node);
+        while (!node.representsTerminalState()) {
+            TranspositionNode.Edge edge;
+            if (node.hasUntriedActions())
+                edge = node.expandWithRandomUntriedAction(searchState);
+            else if (!node.isFullyExpanded())
+                edge = node.expandWithoutAction(searchState);
+            else
+                edge = node.selectEdgeWithMaxUctValue(searchState, explorationParameter);
+            selectedEdges.add(edge);
+            node = transpositionTable.get(searchState.getHash());
+            if (node == null) {
+                selectedNodes.add(transpositionTable.put(searchState));
+                return;
+            }
+            selectedNodes.add(node);
+        }
+    }
+
+    private void backPropagate(SimulationState terminalState) {
+        for (int i = 0; i < selectedNodes.size(); i++) {
+            TranspositionNode.Edge edge = i < selectedEdges.size() ? selectedEdges.get(i) : null;
+            selectedNodes.get(i).updateDomainTheoreticValue(edge, terminalState);
+        }
+    }
+
+    private void rollBack(State searchState) {
+        for (int i = 0; i < selectedEdges.size(); i++)
+            searchState.undoLastAction();
+        selectedNodes.clear();
+        selectedEdges.clear();
+    }
+
+    protected int getNumberOfNodes() {
+        return transpositionTable.getNumberOfNodes();
+    }
+}
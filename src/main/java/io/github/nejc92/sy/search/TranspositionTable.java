@@ -0,0 +1,61 @@
+package io.github.nejc92.sy.search;
+
+import io.github.nejc92.sy.game.State;
+
+class TranspositionTable {
+
+    private static final int BUCKET_MASK = ~1;
+
+    private final TranspositionNode[] nodes;
+    private final int indexMask;
+    private int numberOfNodes;
+
+    protected TranspositionTable(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(capacity, 2));
+        this.nodes = new TranspositionNode[tableSize];
+        this.indexMask = tableSize - 1;
+        this.numberOfNodes = 0;
+    }
+
+    protected TranspositionNode get(long hash) {
+        int index = getBucketIndex(hash);
+        if (containsNode(index, hash))
+            return nodes[index];
+        else if (containsNode(index + 1, hash))
+            return nodes[index + 1];
+        else
+            return null;
+    }
+
+    private boolean containsNode(int index, long hash) {
+        return nodes[index] != null && nodes[index].getHash() == hash;
+    }
+
+    protected TranspositionNode put(State state) {
+        TranspositionNode node = new TranspositionNode(state);
+        int index = getReplacementIndex(getBucketIndex(node.getHash()));
+        if (nodes[index] == null)
+            numberOfNodes++;
+        nodes[index] = node;
+        return node;
+    }
+
+    private int getReplacementIndex(int index) {
+        if (nodes[index] == null)
+            return index;
+        else if (nodes[index + 1] == null)
+            return index + 1;
+        else if (nodes[index + 1].getVisitCount() < nodes[index].getVisitCount())
+            return index + 1;
+        else
+            return index;
+    }
+
+    private int getBucketIndex(long hash) {
+        return (int) (hash ^ hash >>> 32) & indexMask & BUCKET_MASK;
+    }
+
+    protected int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.nejc92.sy.search;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.SimulationState;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.players.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+class TreeNode {
+
+    private TreeNode parent;
+    private final Action actionTaken;
+    private State.UndoRecord undoRecord;
+    private final Player previousAgent;
+    private final boolean terminal;
+    private final List<TreeNode> children;
+    private final List<Action> untriedActions;
+    private int visitCount;
+    private double totalReward;
+
+    protected static TreeNode createRootNode(State state) {
+        return new TreeNode(null, null, null, state);
+    }
+
+    private TreeNode(TreeNode parent, Action actionTaken, State.UndoRecord undoRecord, State state) {
+        this.parent = parent;
+        this.actionTaken = actionTaken;
+        this.undoRecord = undoRecord;
+        this.previousAgent = state.getPreviousAgent();
+        this.terminal = state.isTerminal();
+        this.children = new ArrayList<>();
+        this.untriedActions = state.getAvailableActionsForCurrentAgent();
+        this.visitCount = 0;
+        this.totalReward = 0;
+    }
+
+    protected TreeNode getParent() {
+        return parent;
+    }
+
+    protected void detachFromParent() {
+        parent = null;
+    }
+
+    protected Action getActionTaken() {
+        return actionTaken;
+    }
+
+    protected boolean representsTerminalState() {
+        return terminal;
+    }
+
+    protected boolean isFullyExpanded() {
+        return untriedActions.isEmpty() && !children.isEmpty();
+    }
+
+    protected boolean hasUntriedActions() {
+        return !untriedActions.isEmpty();
+    }
+
+    protected TreeNode expandWithRandomUntriedAction(State state) {
+        int index = ThreadLocalRandom.current().nextInt(untriedActions.size());
+        Action action = untriedActions.remove(index);
+        state.performActionForCurrentAgent(action);
+        return addChild(action, state);
+    }
+
+    protected TreeNode expandWithoutAction(State state) {
+        state.skipCurrentAgent();
+        return addChild(null, state);
+    }
+
+    private TreeNode addChild(Action action, State state) {
+        TreeNode child = new TreeNode(this, action, state.getLastUndoRecord(), state);
+        children.add(child);
+        return child;
+    }
+
+    protected void redoActionTaken(State state) {
+        state.redoAction(undoRecord);
+    }
+
+    protected void rebaseUndoRecords(State state) {
+        Iterator<TreeNode> iterator = children.iterator();
+        while (iterator.hasNext()) {
+            TreeNode child = iterator.next();
+            State.UndoRecord undoRecord = state.rebaseUndoRecord(child.undoRecord);
+            if (undoRecord.spansSameTurnsAs(child.undoRecord)) {
+                child.undoRecord = undoRecord;
+                child.redoActionTaken(state);
+                child.rebaseUndoRecords(state);
+                state.undoLastAction();
+            }
+            else {
+                iterator.remove();
+                untriedActions.add(child.actionTaken);
+            }
+        }
+    }
+
+    protected TreeNode getChildWithMaxUctValue(double explorationParameter) {
+        TreeNode bestChild = null;
+        double bestUctValue = Double.NEGATIVE_INFINITY;
+        for (TreeNode child : children) {
+            double uctValue = child.calculateUctValue(explorationParameter);
+            if (uctValue > bestUctValue) {
+                bestChild = child;
+                bestUctValue = uctValue;
+            }
+        }
+        return bestChild;
+    }
+
+    private double calculateUctValue(double explorationParameter) {
+        return totalReward / visitCount
+                + explorationParameter * Math.sqrt(2 * Math.log(parent.visitCount) / visitCount);
+    }
+
+    protected void updateDomainTheoreticValue(SimulationState[] terminalStates) {
+        double reward = 0;
+        for (SimulationState terminalState : terminalStates)
+            reward += previousAgent.getRewardFromTerminalState(terminalState);
+        totalReward += reward / terminalStates.length;
+        visitCount++;
+    }
+
+    protected TreeNode getChildMatchingUndoRecord(State.UndoRecord undoRecord, boolean hidersMovesHidden) {
+        TreeNode matchingChild = null;
+        for (TreeNode child : children) {
+            if (child.matchesUndoRecord(undoRecord, hidersMovesHidden)
+                    && (matchingChild == null || child.visitCount > matchingChild.visitCount))
+                matchingChild = child;
+        }
+        return matchingChild;
+    }
+
+    protected boolean matchesUndoRecord(State.UndoRecord undoRecord, boolean hidersMovesHidden) {
+        if (!this.undoRecord.spansSameTurnsAs(undoRecord))
+            return false;
+        else if (undoRecord.getActionCode() == Action.NO_ACTION || actionTaken == null)
+            return undoRecord.getActionCode() == Action.NO_ACTION && actionTaken == null;
+        else if (hidersMovesHidden && previousAgent.isHider())
+            return actionTaken.getTransportation() == Action.getTransportation(undoRecord.getActionCode());
+        else
+            return actionTaken.getCode() == undoRecord.getActionCode();
+    }
+
+    protected int countNodes() {
+        int numberOfNodes = 0;
+        Deque<TreeNode> nodes = new ArrayDeque<>();
+        nodes.push(this);
+        while (!nodes.isEmpty()) {
+            TreeNode node = nodes.pop();
+            numberOfNodes++;
+            for (TreeNode child : node.children)
+                nodes.push(child);
+        }
+        return numberOfNodes;
+    }
+
+    protected List<TreeNode> getChildren() {
+        return children;
+    }
+
+    protected int getVisitCount() {
+        return visitCount;
+    }
+}
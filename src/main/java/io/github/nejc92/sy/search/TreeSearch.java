@@ -0,0 +1,445 @@
+package io.github.nejc92.sy.search;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.SimulationState;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.players.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TreeSearch {
+
+    private static final double NO_EXPLORATION = 0;
+    private static final int DEFAULT_TRANSPOSITION_TABLE_CAPACITY = 1 << 16;
+    private static final int DEFAULT_NUMBER_OF_THREADS = 1;
+    private static final int DEFAULT_NUMBER_OF_PLAYOUTS = 1;
+    private static final int DEFAULT_NUMBER_OF_DETERMINIZATIONS = 1;
+    private static final int NO_TREE_REUSE = 0;
+    private static final String SEARCH_THREAD_NAME = "tree-search";
+
+    private static final class ReusableTree {
+
+        private final State state;
+        private final int numberOfUndoRecords;
+        private final TreeNode[] rootNodes;
+
+        private ReusableTree(State state, TreeNode[] rootNodes) {
+            this.state = state;
+            this.numberOfUndoRecords = state.getNumberOfUndoRecords();
+            this.rootNodes = rootNodes;
+        }
+    }
+
+    private final int numberOfIterations;
+    private final long timeBudgetNanos;
+    private int transpositionTableCapacity;
+    private int numberOfThreads;
+    private int numberOfPlayouts;
+    private int numberOfDeterminizations;
+    private int treeReuseCapacity;
+    private final Map<Player, ReusableTree> reusableTrees;
+    private ExecutorService executorService;
+    private int numberOfCompletedIterations;
+    private int numberOfReusedNodes;
+    private int numberOfTranspositionTableNodes;
+
+    public static TreeSearch initializeIterations(int numberOfIterations) {
+        if (numberOfIterations < 1)
+            throw new IllegalArgumentException("Error: invalid number of iterations.");
+        return new TreeSearch(numberOfIterations, SearchBudget.NO_TIME_BUDGET);
+    }
+
+    public static TreeSearch initializeTimeBudget(long timeBudgetMillis) {
+        if (timeBudgetMillis < 1)
+            throw new IllegalArgumentException("Error: invalid time budget.");
+        return new TreeSearch(Integer.MAX_VALUE, TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis));
+    }
+
+    private TreeSearch(int numberOfIterations, long timeBudgetNanos) {
+        this.numberOfIterations = numberOfIterations;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.transpositionTableCapacity = DEFAULT_TRANSPOSITION_TABLE_CAPACITY;
+        this.numberOfThreads = DEFAULT_NUMBER_OF_THREADS;
+        this.numberOfPlayouts = DEFAULT_NUMBER_OF_PLAYOUTS;
+        this.numberOfDeterminizations = DEFAULT_NUMBER_OF_DETERMINIZATIONS;
+        this.treeReuseCapacity = NO_TREE_REUSE;
+        this.reusableTrees = new HashMap<>();
+    }
+
+    public TreeSearch setTranspositionTableCapacity(int transpositionTableCapacity) {
+        if (transpositionTableCapacity < 2)
+            throw new IllegalArgumentException("Error: invalid transposition table capacity.");
+        this.transpositionTableCapacity = transpositionTableCapacity;
+        return this;
+    }
+
+    public int getTranspositionTableCapacity() {
+        return transpositionTableCapacity;
+    }
+
+    public TreeSearch setNumberOfThreads(int numberOfThreads) {
+        if (numberOfThreads < 1)
+            throw new IllegalArgumentException("Error: invalid number of threads.");
+        this.numberOfThreads = numberOfThreads;
+        shutdownExecutorService();
+        return this;
+    }
+
+    public TreeSearch setNumberOfPlayouts(int numberOfPlayouts) {
+        if (numberOfPlayouts < 1)
+            throw new IllegalArgumentException("Error: invalid number of playouts.");
+        this.numberOfPlayouts = numberOfPlayouts;
+        return this;
+    }
+
+    public int getNumberOfPlayouts() {
+        return numberOfPlayouts;
+    }
+
+    public TreeSearch setNumberOfDeterminizations(int numberOfDeterminizations) {
+        if (numberOfDeterminizations < 1)
+            throw new IllegalArgumentException("Error: invalid number of determinizations.");
+        this.numberOfDeterminizations = numberOfDeterminizations;
+        return this;
+    }
+
+    public int getNumberOfDeterminizations() {
+        return numberOfDeterminizations;
+    }
+
+    public TreeSearch setTreeReuseCapacity(int treeReuseCapacity) {
+        if (treeReuseCapacity < 0)
+            throw new IllegalArgumentException("Error: invalid tree reuse capacity.");
+        this.treeReuseCapacity = treeReuseCapacity;
+        reusableTrees.clear();
+        return this;
+    }
+
+    public int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    public int getNumberOfCompletedIterations() {
+        return numberOfCompletedIterations;
+    }
+
+    public int getNumberOfReusedNodes() {
+        return numberOfReusedNodes;
+    }
+
+    public int getNumberOfTranspositionTableNodes() {
+        return numberOfTranspositionTableNodes;
+    }
+
+    public Action uctSearchWithExploration(State state, double explorationParameter) {
+        SearchBudget searchBudget = createSearchBudget(numberOfIterations);
+        State searchState = state.copy();
+        TreeNode rootNode = getRootNode(getReusableRootNodes(state, 1)[0], searchState);
+        search(rootNode, searchState, createTerminalStates(), explorationParameter, searchBudget);
+        numberOfCompletedIterations = searchBudget.getNumberOfCompletedIterations();
+        TreeNode bestChild = rootNode.getChildWithMaxUctValue(NO_EXPLORATION);
+        keepReusableTree(state, new TreeNode[] {bestChild});
+        return bestChild.getActionTaken();
+    }
+
+    public Action uctSearchWithRootParallelization(State state, double explorationParameter) {
+        SearchBudget searchBudget = createSearchBudget(numberOfIterations);
+        TreeNode[] reusableRootNodes = getReusableRootNodes(state, numberOfThreads);
+        List<Future<TreeNode>> workers = new ArrayList<>(numberOfThreads - 1);
+        for (int i = 1; i < numberOfThreads; i++) {
+            State searchState = state.copy();
+            SimulationState[] terminalStates = createTerminalStates();
+            TreeNode reusableRootNode = reusableRootNodes[i];
+            workers.add(getExecutorService().submit(() -> search(getRootNode(reusableRootNode, searchState),
+                    searchState, terminalStates, explorationParameter, searchBudget)));
+        }
+        State searchState = state.copy();
+        TreeNode[] rootNodes = new TreeNode[numberOfThreads];
+        rootNodes[0] = search(getRootNode(reusableRootNodes[0], searchState), searchState,
+                createTerminalStates(), explorationParameter, searchBudget);
+        for (int i = 1; i < numberOfThreads; i++)
+            rootNodes[i] = getSearchResult(workers.get(i - 1));
+        Map<Action, Integer> actionsVisitCounts = new HashMap<>();
+        for (TreeNode rootNode : rootNodes)
+            addRootVisitCounts(rootNode, actionsVisitCounts);
+        numberOfCompletedIterations = searchBudget.getNumberOfCompletedIterations();
+        Action bestAction = getActionWithMaxVisitCount(actionsVisitCounts);
+        keepReusableTree(state, getChildrenWithAction(rootNodes, bestAction));
+        return bestAction;
+    }
+
+    protected static TreeNode getRootNode(TreeNode reusableRootNode, State searchState) {
+        if (reusableRootNode != null) {
+            reusableRootNode.rebaseUndoRecords(searchState);
+            return reusableRootNode;
+        }
+        else
+            return TreeNode.createRootNode(searchState);
+    }
+
+    private static TreeNode[] getChildrenWithAction(TreeNode[] rootNodes, Action action) {
+        TreeNode[] children = new TreeNode[rootNodes.length];
+        for (int i = 0; i < rootNodes.length; i++) {
+            for (TreeNode child : rootNodes[i].getChildren()) {
+                if (action.equals(child.getActionTaken()))
+                    children[i] = child;
+            }
+        }
+        return children;
+    }
+
+    public Action uctSearchWithDeterminizations(State state, double explorationParameter) {
+        SearchBudget searchBudget = createSearchBudget(Math.max(numberOfIterations / numberOfDeterminizations, 1));
+        State[] determinizations = createDeterminizations(state);
+        int numberOfWorkers = Math.min(numberOfThreads, numberOfDeterminizations);
+        List<Future<Map<Action, Integer>>> workers = new ArrayList<>(numberOfWorkers - 1);
+        for (int i = 1; i < numberOfWorkers; i++) {
+            int firstDeterminization = i;
+            workers.add(getExecutorService().submit(() -> searchDeterminizations(determinizations,
+                    firstDeterminization, numberOfWorkers, explorationParameter, searchBudget)));
+        }
+        Map<Action, Integer> actionsVisitCounts = searchDeterminizations(
+                determinizations, 0, numberOfWorkers, explorationParameter, searchBudget);
+        for (Future<Map<Action, Integer>> worker : workers)
+            getSearchResult(worker).forEach((action, visitCount) -> actionsVisitCounts.merge(action, visitCount,
+                    Integer::sum));
+        numberOfCompletedIterations = searchBudget.getNumberOfCompletedIterations();
+        return getActionWithMaxVisitCount(actionsVisitCounts);
+    }
+
+    public Action uctSearchWithTreeParallelization(State state, double explorationParameter) {
+        int sharedNumberOfIterations = (int) Math.min((long) numberOfIterations * numberOfThreads, Integer.MAX_VALUE);
+        SearchBudget searchBudget = createSearchBudget(sharedNumberOfIterations);
+        SharedTreeSearch sharedTreeSearch = new SharedTreeSearch(searchBudget, numberOfThreads, getExecutorService());
+        Action action = sharedTreeSearch.uctSearchWithExploration(state, explorationParameter);
+        numberOfCompletedIterations = searchBudget.getNumberOfCompletedIterations();
+        return action;
+    }
+
+    public Action uctSearchWithTranspositions(State state, double explorationParameter) {
+        SearchBudget searchBudget = createSearchBudget(numberOfIterations);
+        TranspositionSearch transpositionSearch = new TranspositionSearch(searchBudget, transpositionTableCapacity);
+        Action action = transpositionSearch.uctSearchWithExploration(state, explorationParameter);
+        numberOfCompletedIterations = searchBudget.getNumberOfCompletedIterations();
+        numberOfTranspositionTableNodes = transpositionSearch.getNumberOfNodes();
+        return action;
+    }
+
+    private SearchBudget createSearchBudget(int numberOfIterations) {
+        return new SearchBudget(numberOfIterations, timeBudgetNanos);
+    }
+
+    private State[] createDeterminizations(State state) {
+        State[] determinizations = new State[numberOfDeterminizations];
+        for (int i = 0; i < numberOfDeterminizations; i++) {
+            determinizations[i] = state.copy();
+            determinizations[i].determinizeHidersPosition();
+        }
+        return determinizations;
+    }
+
+    private Map<Action, Integer> searchDeterminizations(State[] determinizations, int firstDeterminization,
+                                                        int numberOfWorkers, double explorationParameter,
+                                                        SearchBudget searchBudget) {
+        int numberOfSearchedDeterminizations = 0;
+        TreeNode[] rootNodes = new TreeNode[determinizations.length];
+        SimulationState[][] terminalStates = new SimulationState[determinizations.length][];
+        for (int i = firstDeterminization; i < determinizations.length; i += numberOfWorkers) {
+            rootNodes[i] = TreeNode.createRootNode(determinizations[i]);
+            terminalStates[i] = createTerminalStates();
+            numberOfSearchedDeterminizations++;
+        }
+        int iteration = 0;
+        while (searchBudget.allowsIteration(iteration)) {
+            for (int i = firstDeterminization; i < determinizations.length; i += numberOfWorkers)
+                performIteration(rootNodes[i], determinizations[i], terminalStates[i], explorationParameter);
+            iteration++;
+        }
+        searchBudget.addCompletedIterations(iteration * numberOfSearchedDeterminizations);
+        Map<Action, Integer> actionsVisitCounts = new HashMap<>();
+        for (int i = firstDeterminization; i < determinizations.length; i += numberOfWorkers)
+            addRootVisitCounts(rootNodes[i], actionsVisitCounts);
+        return actionsVisitCounts;
+    }
+
+    private SimulationState[] createTerminalStates() {
+        return new SimulationState[numberOfPlayouts];
+    }
+
+    protected TreeNode[] getKeptRootNodes(Player player) {
+        ReusableTree reusableTree = reusableTrees.get(player);
+        if (reusableTree == null)
+            return new TreeNode[0];
+        else
+            return reusableTree.rootNodes;
+    }
+
+    protected TreeNode[] getReusableRootNodes(State state, int numberOfRootNodes) {
+        numberOfReusedNodes = 0;
+        TreeNode[] rootNodes = new TreeNode[numberOfRootNodes];
+        ReusableTree reusableTree = reusableTrees.remove(state.getCurrentAgent());
+        if (reusableTree == null || reusableTree.state != state
+                || reusableTree.numberOfUndoRecords >= state.getNumberOfUndoRecords())
+            return rootNodes;
+        for (int i = 0; i < Math.min(numberOfRootNodes, reusableTree.rootNodes.length); i++) {
+            rootNodes[i] = getReusableRootNode(reusableTree, reusableTree.rootNodes[i], state);
+            if (rootNodes[i] != null)
+                numberOfReusedNodes += rootNodes[i].countNodes();
+        }
+        return rootNodes;
+    }
+
+    private static TreeNode getReusableRootNode(ReusableTree reusableTree, TreeNode node, State state) {
+        boolean hidersMovesHidden = !state.currentPlayerIsHider();
+        if (node == null
+                || !node.matchesUndoRecord(state.getUndoRecord(reusableTree.numberOfUndoRecords), hidersMovesHidden))
+            return null;
+        for (int i = reusableTree.numberOfUndoRecords + 1; i < state.getNumberOfUndoRecords() && node != null; i++)
+            node = node.getChildMatchingUndoRecord(state.getUndoRecord(i), hidersMovesHidden);
+        if (node == null || node.representsTerminalState())
+            return null;
+        node.detachFromParent();
+        return node;
+    }
+
+    private void keepReusableTree(State state, TreeNode[] bestChildren) {
+        if (treeReuseCapacity != NO_TREE_REUSE && countNodes(bestChildren) <= treeReuseCapacity) {
+            for (TreeNode bestChild : bestChildren) {
+                if (bestChild != null)
+                    bestChild.detachFromParent();
+            }
+            reusableTrees.put(state.getCurrentAgent(), new ReusableTree(state, bestChildren));
+        }
+    }
+
+    private static int countNodes(TreeNode[] rootNodes) {
+        int numberOfNodes = 0;
+        for (TreeNode rootNode : rootNodes) {
+            if (rootNode != null)
+                numberOfNodes += rootNode.countNodes();
+        }
+        return numberOfNodes;
+    }
+
+    private TreeNode search(TreeNode rootNode, State searchState, SimulationState[] terminalStates,
+                            double explorationParameter, SearchBudget searchBudget) {
+        int iteration = 0;
+        while (searchBudget.allowsIteration(iteration)) {
+            performIteration(rootNode, searchState, terminalStates, explorationParameter);
+            iteration++;
+        }
+        searchBudget.addCompletedIterations(iteration);
+        return rootNode;
+    }
+
+    private void performIteration(TreeNode rootNode, State searchState, SimulationState[] terminalStates,
+                                  double explorationParameter) {
+        Player searchInvokingPlayer = searchState.getCurrentAgent();
+        TreeNode selectedNode = selectAndExpandNewNode(rootNode, searchState, explorationParameter);
+        simulate(searchInvokingPlayer, searchState, terminalStates);
+        backPropagate(selectedNode, terminalStates);
+        rollBack(selectedNode, searchState);
+    }
+
+    private static void simulate(Player searchInvokingPlayer, State searchState, SimulationState[] terminalStates) {
+        for (int i = 0; i < terminalStates.length; i++)
+            terminalStates[i] = searchState.createSimulationState();
+        if (terminalStates.length == 1) {
+            searchInvokingPlayer.getTerminalStateByPerformingSimulation(terminalStates[0]);
+            return;
+        }
+        List<ForkJoinTask<SimulationState>> playouts = new ArrayList<>(terminalStates.length);
+        for (SimulationState terminalState : terminalStates)
+            playouts.add(ForkJoinTask.adapt(() -> searchInvokingPlayer.getTerminalStateByPerformingSimulation(
+                    terminalState)));
+        ForkJoinTask.invokeAll(playouts);
+    }
+
+    private TreeNode selectAndExpandNewNode(TreeNode node, State searchState, double explorationParameter) {
+        while (!node.representsTerminalState()) {
+            if (node.hasUntriedActions())
+                return node.expandWithRandomUntriedAction(searchState);
+            else if (!node.isFullyExpanded())
+                return node.expandWithoutAction(searchState);
+            else {
+                node = node.getChildWithMaxUctValue(explorationParameter);
+                node.redoActionTaken(searchState);
+            }
+        }
+        return node;
+    }
+
+    private void backPropagate(TreeNode node, SimulationState[] terminalStates) {
+        while (node != null) {
+            node.updateDomainTheoreticValue(terminalStates);
+            node = node.getParent();
+        }
+    }
+
+    private void rollBack(TreeNode node, State searchState) {
+        while (node.getParent() != null) {
+            searchState.undoLastAction();
+            node = node.getParent();
+        }
+    }
+
+    protected static <T> T getSearchResult(Future<T> searchResult) {
+        try {
+            return searchResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Error: search was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static void addRootVisitCounts(TreeNode rootNode, Map<Action, Integer> actionsVisitCounts) {
+        for (TreeNode child : rootNode.getChildren())
+            actionsVisitCounts.merge(child.getActionTaken(), child.getVisitCount(), Integer::sum);
+    }
+
+    private static Action getActionWithMaxVisitCount(Map<Action, Integer> actionsVisitCounts) {
+        Action bestAction = null;
+        int bestVisitCount = -1;
+        for (Map.Entry<Action, Integer> actionVisitCount : actionsVisitCounts.entrySet()) {
+            if (actionVisitCount.getValue() > bestVisitCount) {
+                bestAction = actionVisitCount.getKey();
+                bestVisitCount = actionVisitCount.getValue();
+            }
+        }
+        return bestAction;
+    }
+
+    private ExecutorService getExecutorService() {
+        if (executorService == null && numberOfThreads > 1)
+            executorService = Executors.newFixedThreadPool(numberOfThreads - 1, TreeSearch::createSearchThread);
+        return executorService;
+    }
+
+    private static Thread createSearchThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, SEARCH_THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void shutdownExecutorService() {
+        if (executorService != null) {
+            executorService.shutdown();
+            executorService = null;
+        }
+    }
+}
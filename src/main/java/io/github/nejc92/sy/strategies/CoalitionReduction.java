@@ -1,5 +1,6 @@
 package io.github.nejc92.sy.strategies;
 
+import io.github.nejc92.sy.game.SimulationState;
 import io.github.nejc92.sy.game.State;
 import io.github.nejc92.sy.players.Seeker;
 
@@ -26,4 +27,20 @@ public class CoalitionReduction {
         else
             return 0;
     }
-}
\ No newline at end of file
+
+    public static double getCoalitionReductionRewardFromTerminalState(SimulationState state, Seeker seeker) {
+        if (state.seekerWon(seeker))
+            return 1;
+        else if (state.seekersWon())
+            return 1 - COALITION_REDUCTION_PARAMETER;
+        else
+            return 0;
+    }
+
+    public static double getNormalRewardFromTerminalState(SimulationState state) {
+        if (state.seekersWon())
+            return 1;
+        else
+            return 0;
+    }
+}
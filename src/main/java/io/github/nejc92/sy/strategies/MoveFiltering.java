@@ -7,6 +7,7 @@ import io.github.nejc92.sy.players.Player;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class MoveFiltering {
 
@@ -21,21 +22,29 @@ public class MoveFiltering {
     private static final double SHOULD_USE_DOUBLE_MOVE_GREEDY_THRESHOLD = 0.3;
     // private static final double SHOULD_USE_BLACK_FARE_TICKET_GREEDY_THRESHOLD = 0.3;
 
-    public static boolean optimalToUseBlackFareTicket(int currentRound, List<Action> actions) {
-        return !SHOULDNT_USE_BLACK_FAIR_ROUNDS.contains(currentRound) && !actionsContainOnlyTaxis(actions);
+    public static boolean optimalToUseBlackFareTicket(int currentRound, int[] actionCodes, int numberOfActions) {
+        return !SHOULDNT_USE_BLACK_FAIR_ROUNDS.contains(currentRound)
+                && !actionsContainOnlyTaxis(actionCodes, numberOfActions);
     }
 
-    private static boolean actionsContainOnlyTaxis(List<Action> actions) {
-        return actions.stream().allMatch(action -> action.isTransportationAction(Action.Transportation.TAXI));
+    private static boolean actionsContainOnlyTaxis(int[] actionCodes, int numberOfActions) {
+        for (int i = 0; i < numberOfActions; i++) {
+            if (!Action.isTransportationAction(actionCodes[i], Action.Transportation.TAXI))
+                return false;
+        }
+        return true;
     }
 
     public static boolean optimalToUseDoubleMoveCard(PlayersOnBoard playersOnBoard) {
-        return playersOnBoard.hidersAverageDistanceToSeekers(Player.Type.SEEKER)
-                <= SHOULD_USE_DOUBLE_MOVE_AVG_DISTANCE_THRESHOLD;
+        return optimalToUseDoubleMoveCard(playersOnBoard.hidersAverageDistanceToSeekers(Player.Type.SEEKER));
+    }
+
+    public static boolean optimalToUseDoubleMoveCard(double hidersAverageDistanceToSeekers) {
+        return hidersAverageDistanceToSeekers <= SHOULD_USE_DOUBLE_MOVE_AVG_DISTANCE_THRESHOLD;
     }
 
     public static boolean shouldUseDoubleMoveCardGreedy() {
-        return Math.random() < SHOULD_USE_DOUBLE_MOVE_GREEDY_THRESHOLD;
+        return ThreadLocalRandom.current().nextDouble() < SHOULD_USE_DOUBLE_MOVE_GREEDY_THRESHOLD;
     }
 
     public static boolean shouldUseBlackFareTicketGreedy() {
@@ -1,11 +1,9 @@
 package io.github.nejc92.sy.strategies;
 
 import io.github.nejc92.sy.game.Action;
-import io.github.nejc92.sy.game.PlayersOnBoard;
-import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.game.SimulationState;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Playouts {
 
@@ -15,59 +13,71 @@ public class Playouts {
 
     private static final double EPSILON = 0.2;
 
-    public static Action getRandomAction(State state) {
-        List<Action> availableActions = state.getAvailableActionsForCurrentAgent();
-        Collections.shuffle(availableActions);
-        if (availableActions.size() > 0)
-            return availableActions.get(0);
+    public static int getRandomActionCode(int[] actionCodes, int numberOfActions) {
+        if (numberOfActions > 0)
+            return actionCodes[ThreadLocalRandom.current().nextInt(numberOfActions)];
         else
-            return null;
+            return Action.NO_ACTION;
     }
 
-    public static Action getGreedyBiasedActionForHider(State state) {
-        List<Action> actions = state.getAvailableActionsForCurrentAgent();
-        if (actions.size() > 0) {
+    public static int getGreedyBiasedActionCodeForHider(SimulationState state, int[] actionCodes,
+                                                         int numberOfActions) {
+        if (numberOfActions > 0) {
             if (shouldReturnBiasedAction())
-                return getBiasedActionForHiderConfidently(actions, state.getPlayersOnBoard());
+                return getBiasedActionCodeForHiderConfidently(actionCodes, numberOfActions, state);
             else
-                return getRandomAction(state);
+                return getRandomActionCode(actionCodes, numberOfActions);
         }
         else
-            return null;
+            return Action.NO_ACTION;
     }
 
-    public static Action getGreedyBiasedActionForSeeker(State state) {
-        List<Action> actions = state.getAvailableActionsForCurrentAgent();
-        if (actions.size() > 0) {
+    public static int getGreedyBiasedActionCodeForSeeker(SimulationState state, int[] actionCodes,
+                                                          int numberOfActions) {
+        if (numberOfActions > 0) {
             if (shouldReturnBiasedAction())
-                return getBiasedActionForSeekerConfidently(actions, state.getPlayersOnBoard());
+                return getBiasedActionCodeForSeekerConfidently(actionCodes, numberOfActions, state);
             else
-                return getRandomAction(state);
+                return getRandomActionCode(actionCodes, numberOfActions);
         }
         else
-            return null;
+            return Action.NO_ACTION;
 
     }
 
     private static boolean shouldReturnBiasedAction() {
-        return Math.random() > EPSILON;
+        return ThreadLocalRandom.current().nextDouble() > EPSILON;
     }
 
-    private static Action getBiasedActionForHiderConfidently(List<Action> actions, PlayersOnBoard playersOnBoard) {
-        return actions.stream()
-                .max((action1, action2) -> Integer.compare(
-                        playersOnBoard.shortestDistanceBetweenPositionAndClosestSeeker(action1.getDestination()),
-                        playersOnBoard.shortestDistanceBetweenPositionAndClosestSeeker(action2.getDestination())))
-                .get();
+    private static int getBiasedActionCodeForHiderConfidently(int[] actionCodes, int numberOfActions,
+                                                              SimulationState state) {
+        int biasedActionCode = actionCodes[0];
+        int biasedDistance = state.shortestDistanceBetweenPositionAndClosestSeeker(
+                Action.getDestination(biasedActionCode));
+        for (int i = 1; i < numberOfActions; i++) {
+            int distance = state.shortestDistanceBetweenPositionAndClosestSeeker(
+                    Action.getDestination(actionCodes[i]));
+            if (distance > biasedDistance) {
+                biasedActionCode = actionCodes[i];
+                biasedDistance = distance;
+            }
+        }
+        return biasedActionCode;
     }
 
-    private static Action getBiasedActionForSeekerConfidently(List<Action> actions, PlayersOnBoard playersOnBoard) {
-        return actions.stream()
-                .min((action1, action2) -> Integer.compare(
-                        playersOnBoard.shortestDistanceBetweenPositionAndHidersMostProbablePosition(
-                                action1.getDestination()),
-                        playersOnBoard.shortestDistanceBetweenPositionAndHidersMostProbablePosition(
-                                action2.getDestination())))
-                .get();
+    private static int getBiasedActionCodeForSeekerConfidently(int[] actionCodes, int numberOfActions,
+                                                               SimulationState state) {
+        int biasedActionCode = actionCodes[0];
+        int biasedDistance = state.shortestDistanceBetweenPositionAndHidersMostProbablePosition(
+                Action.getDestination(biasedActionCode));
+        for (int i = 1; i < numberOfActions; i++) {
+            int distance = state.shortestDistanceBetweenPositionAndHidersMostProbablePosition(
+                    Action.getDestination(actionCodes[i]));
+            if (distance < biasedDistance) {
+                biasedActionCode = actionCodes[i];
+                biasedDistance = distance;
+            }
+        }
+        return biasedActionCode;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package io.github.nejc92.sy.utilities;
+
+import io.github.nejc92.sy.game.Action;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BinaryBoardFileParser {
+
+    protected static final int MAGIC_NUMBER = 0x53594231;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int ACTION_SIZE = Byte.BYTES + Short.BYTES;
+
+    private final String fileName;
+    private ByteBuffer buffer;
+    private int numberOfPositions;
+    private int actionsStart;
+    private int hidersDistancesStart;
+    private int seekersDistancesStart;
+
+    public BinaryBoardFileParser(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public void parse() {
+        buffer = tryToMapFile();
+        validateMagicNumber();
+        numberOfPositions = buffer.getInt(Integer.BYTES);
+        actionsStart = HEADER_SIZE + (numberOfPositions + 1) * Integer.BYTES;
+        hidersDistancesStart = actionsStart + getActionsOffset(numberOfPositions) * ACTION_SIZE;
+        seekersDistancesStart = hidersDistancesStart + numberOfPositions * (numberOfPositions - 1) / 2;
+        validateFileLength();
+    }
+
+    private ByteBuffer tryToMapFile() {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new IllegalStateException("Error: " + e.getMessage(), e);
+        }
+    }
+
+    private void validateMagicNumber() {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC_NUMBER)
+            throw new IllegalStateException("Error: invalid binary board file.");
+    }
+
+    private void validateFileLength() {
+        if (buffer.limit() != seekersDistancesStart + numberOfPositions * (numberOfPositions - 1) / 2)
+            throw new IllegalStateException("Error: invalid binary board file length.");
+    }
+
+    public List<List<Action>> getParsedPositionsActions() {
+        List<List<Action>> positionsActions = new ArrayList<>(numberOfPositions);
+        for (int positionIndex = 0; positionIndex < numberOfPositions; positionIndex++)
+            positionsActions.add(getParsedPositionActions(positionIndex));
+        return positionsActions;
+    }
+
+    private List<Action> getParsedPositionActions(int positionIndex) {
+        int start = getActionsOffset(positionIndex);
+        int end = getActionsOffset(positionIndex + 1);
+        List<Action> positionActions = new ArrayList<>(end - start);
+        for (int actionIndex = start; actionIndex < end; actionIndex++) {
+            int actionPosition = actionsStart + actionIndex * ACTION_SIZE;
+            Action.Transportation transportation = Action.Transportation.values()[buffer.get(actionPosition)];
+            int destination = buffer.getShort(actionPosition + Byte.BYTES);
+            positionActions.add(Action.of(transportation, destination));
+        }
+        return positionActions;
+    }
+
+    private int getActionsOffset(int positionIndex) {
+        return buffer.getInt(HEADER_SIZE + positionIndex * Integer.BYTES);
+    }
+
+    public List<List<Integer>> getParsedHidersDistances() {
+        return createDistancesView(hidersDistancesStart);
+    }
+
+    public List<List<Integer>> getParsedSeekersDistances() {
+        return createDistancesView(seekersDistancesStart);
+    }
+
+    private List<List<Integer>> createDistancesView(int distancesStart) {
+        List<List<Integer>> greaterPositionsPairs = new ArrayList<>(numberOfPositions - 1);
+        int rowStart = distancesStart;
+        for (int rowSize = numberOfPositions - 1; rowSize > 0; rowSize--) {
+            greaterPositionsPairs.add(new DistancesRow(buffer, rowStart, rowSize));
+            rowStart += rowSize;
+        }
+        return greaterPositionsPairs;
+    }
+
+    private static class DistancesRow extends AbstractList<Integer> {
+
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int size;
+
+        private DistancesRow(ByteBuffer buffer, int start, int size) {
+            this.buffer = buffer;
+            this.start = start;
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            return buffer.get(start + index) & 0xFF;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.nejc92.sy.utilities;
+
+import io.github.nejc92.sy.game.Action;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+public class BinaryBoardFileWriter {
+
+    private final String fileName;
+
+    public BinaryBoardFileWriter(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public static void main(String... args) {
+        if (args.length != 4) {
+            System.out.println("Usage: BinaryBoardFileWriter <board xml> <hiders distances xml> "
+                    + "<seekers distances xml> <output file>");
+            return;
+        }
+        List<List<Action>> positionsActions = new BoardFileParser(args[0]).getParsedData();
+        List<List<Integer>> hidersDistances = new DistancesFileParser(args[1]).getParsedData();
+        List<List<Integer>> seekersDistances = new DistancesFileParser(args[2]).getParsedData();
+        new BinaryBoardFileWriter(args[3]).write(positionsActions, hidersDistances, seekersDistances);
+    }
+
+    public void write(List<List<Action>> positionsActions, List<List<Integer>> hidersDistances,
+                      List<List<Integer>> seekersDistances) {
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(fileName)))) {
+            writeData(output, positionsActions, hidersDistances, seekersDistances);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeData(DataOutputStream output, List<List<Action>> positionsActions,
+                           List<List<Integer>> hidersDistances, List<List<Integer>> seekersDistances)
+            throws IOException {
+        int numberOfPositions = positionsActions.size();
+        output.writeInt(BinaryBoardFileParser.MAGIC_NUMBER);
+        output.writeInt(numberOfPositions);
+        writeActionsOffsets(output, positionsActions);
+        writeActions(output, positionsActions);
+        writeDistances(output, hidersDistances, numberOfPositions);
+        writeDistances(output, seekersDistances, numberOfPositions);
+    }
+
+    private void writeActionsOffsets(DataOutputStream output, List<List<Action>> positionsActions)
+            throws IOException {
+        int offset = 0;
+        output.writeInt(offset);
+        for (List<Action> positionActions : positionsActions) {
+            offset += positionActions.size();
+            output.writeInt(offset);
+        }
+    }
+
+    private void writeActions(DataOutputStream output, List<List<Action>> positionsActions) throws IOException {
+        for (List<Action> positionActions : positionsActions) {
+            for (Action action : positionActions) {
+                output.writeByte(action.getTransportation().ordinal());
+                output.writeShort(action.getDestination());
+            }
+        }
+    }
+
+    private void writeDistances(DataOutputStream output, List<List<Integer>> distances, int numberOfPositions)
+            throws IOException {
+        if (distances.size() != numberOfPositions - 1)
+            throw new IllegalStateException("Error: distances do not match the number of board positions.");
+        for (List<Integer> greaterPositionsDistances : distances) {
+            for (int distance : greaterPositionsDistances)
+                output.writeByte(distance);
+        }
+    }
+}
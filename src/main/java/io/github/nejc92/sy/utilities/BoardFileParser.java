@@ -74,7 +74,7 @@ public class BoardFileParser extends DefaultHandler {
         if (elementName.equalsIgnoreCase("boardPosition"))
             boardPositions.add(temporaryPosition);
         else if (elementName.equalsIgnoreCase("action")) {
-            Action temporaryAction = new Action(temporaryTransportation, temporaryDestination);
+            Action temporaryAction = Action.of(temporaryTransportation, temporaryDestination);
             temporaryPosition.add(temporaryAction);
         }
     }
@@ -0,0 +1,51 @@
+package io.github.nejc92.sy.utilities;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class WeightedSampler {
+
+    private final int[] values;
+    private final double[] cumulativeWeights;
+    private int size;
+
+    public WeightedSampler(int capacity) {
+        this.values = new int[capacity];
+        this.cumulativeWeights = new double[capacity];
+        this.size = 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int value, double weight) {
+        values[size] = value;
+        cumulativeWeights[size] = getTotalWeight() + weight;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getTotalWeight() {
+        if (size > 0)
+            return cumulativeWeights[size - 1];
+        else
+            return 0;
+    }
+
+    public int sample() {
+        double threshold = ThreadLocalRandom.current().nextDouble() * getTotalWeight();
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] > threshold)
+                high = middle;
+            else
+                low = middle + 1;
+        }
+        return values[low];
+    }
+}
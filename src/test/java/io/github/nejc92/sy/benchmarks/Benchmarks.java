@@ -0,0 +1,90 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.players.Player;
+import io.github.nejc92.sy.players.PlayerProvider;
+import io.github.nejc92.sy.strategies.CoalitionReduction;
+import io.github.nejc92.sy.strategies.MoveFiltering;
+import io.github.nejc92.sy.strategies.Playouts;
+
+import java.lang.management.ManagementFactory;
+
+final class Benchmarks {
+
+    interface Search {
+        Action search(State state, double explorationParameter);
+    }
+
+    private static final int NUMBER_OF_PLAYERS = 5;
+    private static final double HIDERS_EXPLORATION = 0.2;
+    private static final double SEEKERS_EXPLORATION = 2;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.OperatingSystemMXBean OPERATING_SYSTEM_MX_BEAN =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private Benchmarks() {
+    }
+
+    static long currentThreadAllocatedBytes() {
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    static long processCpuTime() {
+        return OPERATING_SYSTEM_MX_BEAN.getProcessCpuTime();
+    }
+
+    static int intArgument(String[] args, int index, int defaultValue) {
+        if (args.length > index)
+            return Integer.parseInt(args[index]);
+        else
+            return defaultValue;
+    }
+
+    static Player[] createMctsPlayers(int numberOfPlayers) {
+        PlayerProvider playerProvider = new PlayerProvider()
+                .setPlayouts(Playouts.Uses.GREEDY)
+                .setCoalitionReduction(CoalitionReduction.Uses.YES)
+                .setMoveFiltering(MoveFiltering.Uses.YES);
+        try {
+            playerProvider.addPlayer(Player.Type.HIDER, Player.Operator.MCTS);
+            for (int i = 1; i < numberOfPlayers; i++)
+                playerProvider.addPlayer(Player.Type.SEEKER, Player.Operator.MCTS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Error: " + e.getMessage(), e);
+        }
+        return playerProvider.initializePlayers();
+    }
+
+    static boolean playGame(Search hidersSearch, Search seekersSearch) {
+        State state = State.initialize(createMctsPlayers(NUMBER_OF_PLAYERS));
+        while (!state.isTerminal()) {
+            if (state.getNumberOfAvailableActionsForCurrentAgent() > 0) {
+                if (state.currentPlayerIsHider())
+                    state.performActionForCurrentAgent(search(hidersSearch, state));
+                else
+                    state.performActionForCurrentAgent(search(seekersSearch, state));
+            }
+            else
+                state.skipCurrentAgent();
+        }
+        return state.seekersWon();
+    }
+
+    static Action search(Search search, State state) {
+        state.setSearchModeOn();
+        if (state.isTerminal())
+            state.updateHidersProbablePosition();
+        double explorationParameter = state.currentPlayerIsHider() ? HIDERS_EXPLORATION : SEEKERS_EXPLORATION;
+        Action action = search.search(state, explorationParameter);
+        state.setSearchModeOff();
+        return action;
+    }
+
+    static void printResult(String name, long operations, long elapsedNanos, long allocatedBytes) {
+        System.out.printf("%-40s %12.3f us/op %14.1f ops/s %14d B/op%n", name,
+                elapsedNanos / 1e3 / operations, operations * 1e9 / elapsedNanos, allocatedBytes / operations);
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Board;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.players.Player;
+import io.github.nejc92.sy.utilities.BoardFileParser;
+import io.github.nejc92.sy.utilities.DistancesFileParser;
+
+public class BoardInitializationBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_GAMES = 200;
+    private static final int NUMBER_OF_PLAYERS = 6;
+    private static final String BOARD_FILE_NAME = "src/main/resources/board_file.xml";
+    private static final String HIDERS_DISTANCES_FILE_NAME = "src/main/resources/hiders_distances_file.xml";
+    private static final String SEEKERS_DISTANCES_FILE_NAME = "src/main/resources/seekers_distances_file.xml";
+
+    public static void main(String... args) {
+        int numberOfGames = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_GAMES);
+        Player[] players = Benchmarks.createMctsPlayers(NUMBER_OF_PLAYERS);
+        for (int i = 0; i < 2; i++) {
+            System.out.println(i == 0 ? "Warmup:" : "Measurement:");
+            measure("XML board parsed per game", numberOfGames / 10 + 1, () -> {
+                parseXmlFiles();
+                State.initialize(players);
+            });
+            measure("binary board loaded per game", numberOfGames, () -> {
+                Board.initialize();
+                State.initialize(players);
+            });
+            measure("shared board per game", numberOfGames, () -> State.initialize(players));
+        }
+    }
+
+    private static void parseXmlFiles() {
+        new BoardFileParser(BOARD_FILE_NAME).getParsedData();
+        new DistancesFileParser(HIDERS_DISTANCES_FILE_NAME).getParsedData();
+        new DistancesFileParser(SEEKERS_DISTANCES_FILE_NAME).getParsedData();
+    }
+
+    private static void measure(String name, int numberOfGames, Runnable gameInitialization) {
+        long allocatedBytes = Benchmarks.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < numberOfGames; i++)
+            gameInitialization.run();
+        long elapsed = System.nanoTime() - start;
+        allocatedBytes = Benchmarks.currentThreadAllocatedBytes() - allocatedBytes;
+        Benchmarks.printResult(name, numberOfGames, elapsed, allocatedBytes);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.search.TreeSearch;
+
+public class DeterminizedSearchBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_GAMES = 10;
+    private static final int DEFAULT_NUMBER_OF_ITERATIONS = 2_000;
+    private static final int NUMBER_OF_THREADS = 4;
+    private static final int[] NUMBERS_OF_DETERMINIZATIONS = {4, 8, 16};
+
+    private static long numberOfSearches;
+    private static long elapsed;
+    private static long cpuTime;
+
+    public static void main(String... args) {
+        int games = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_GAMES);
+        int iterations = Benchmarks.intArgument(args, 1, DEFAULT_NUMBER_OF_ITERATIONS);
+        TreeSearch hidersSearch = TreeSearch.initializeIterations(iterations);
+        TreeSearch plainSearch = TreeSearch.initializeIterations(iterations);
+        measure("plain search", hidersSearch, plainSearch::uctSearchWithExploration, games);
+        TreeSearch rootParallelSearch = TreeSearch.initializeIterations(iterations)
+                .setNumberOfThreads(NUMBER_OF_THREADS);
+        measure("root parallel search, " + NUMBER_OF_THREADS + " threads", hidersSearch,
+                rootParallelSearch::uctSearchWithRootParallelization, games);
+        for (int determinizations : NUMBERS_OF_DETERMINIZATIONS) {
+            TreeSearch determinizedSearch = TreeSearch.initializeIterations(iterations)
+                    .setNumberOfThreads(NUMBER_OF_THREADS).setNumberOfDeterminizations(determinizations);
+            measure("determinized search, " + determinizations + " trees", hidersSearch,
+                    determinizedSearch::uctSearchWithDeterminizations, games);
+        }
+    }
+
+    private static void measure(String name, TreeSearch hidersSearch, Benchmarks.Search seekersSearch, int games) {
+        numberOfSearches = 0;
+        elapsed = 0;
+        cpuTime = 0;
+        int seekersWins = 0;
+        for (int i = 0; i < games; i++) {
+            if (Benchmarks.playGame(hidersSearch::uctSearchWithExploration,
+                    (state, explorationParameter) -> search(seekersSearch, state, explorationParameter)))
+                seekersWins++;
+        }
+        System.out.printf("%-40s %12.3f ms/search %10.3f cpu s %10.4f wins/cpu s %6d of %d games won by seekers%n",
+                name, elapsed / 1e6 / numberOfSearches, cpuTime / 1e9, seekersWins * 1e9 / cpuTime,
+                seekersWins, games);
+    }
+
+    private static Action search(Benchmarks.Search search, State state, double explorationParameter) {
+        long start = System.nanoTime();
+        long cpuStart = Benchmarks.processCpuTime();
+        Action action = search.search(state, explorationParameter);
+        cpuTime += Benchmarks.processCpuTime() - cpuStart;
+        elapsed += System.nanoTime() - start;
+        numberOfSearches++;
+        return action;
+    }
+}
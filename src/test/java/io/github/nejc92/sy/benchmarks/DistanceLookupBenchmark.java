@@ -0,0 +1,76 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Board;
+import io.github.nejc92.sy.players.Player;
+import io.github.nejc92.sy.utilities.DistancesFileParser;
+
+import java.util.List;
+import java.util.Random;
+
+public class DistanceLookupBenchmark {
+
+    private static final String HIDERS_DISTANCES_FILE_NAME = "src/main/resources/hiders_distances_file.xml";
+    private static final int NUMBER_OF_POSITIONS = 199;
+    private static final int NUMBER_OF_PAIRS = 1 << 16;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int LOOKUPS_PER_ITERATION = 20_000_000;
+
+    private static int blackhole;
+
+    public static void main(String... args) {
+        List<List<Integer>> listDistances = new DistancesFileParser(HIDERS_DISTANCES_FILE_NAME).getParsedData();
+        Board board = Board.getInstance();
+        int[] positions1 = new int[NUMBER_OF_PAIRS];
+        int[] positions2 = new int[NUMBER_OF_PAIRS];
+        generateRandomPairs(positions1, positions2);
+        measure("List<List<Integer>> lookup", () -> lookUpLists(listDistances, positions1, positions2));
+        measure("flat byte[] lookup", () -> lookUpBoard(board, positions1, positions2));
+        System.out.println(blackhole);
+    }
+
+    private static void generateRandomPairs(int[] positions1, int[] positions2) {
+        Random random = new Random(42);
+        for (int i = 0; i < NUMBER_OF_PAIRS; i++) {
+            positions1[i] = random.nextInt(NUMBER_OF_POSITIONS) + 1;
+            positions2[i] = random.nextInt(NUMBER_OF_POSITIONS) + 1;
+        }
+    }
+
+    private static int lookUpLists(List<List<Integer>> distances, int[] positions1, int[] positions2) {
+        int sum = 0;
+        for (int i = 0; i < LOOKUPS_PER_ITERATION; i++) {
+            int pair = i & (NUMBER_OF_PAIRS - 1);
+            int position1 = positions1[pair];
+            int position2 = positions2[pair];
+            if (position1 < position2)
+                sum += distances.get(position1 - 1).get(position2 - position1 - 1);
+            else if (position1 > position2)
+                sum += distances.get(position2 - 1).get(position1 - position2 - 1);
+        }
+        return sum;
+    }
+
+    private static int lookUpBoard(Board board, int[] positions1, int[] positions2) {
+        int sum = 0;
+        for (int i = 0; i < LOOKUPS_PER_ITERATION; i++) {
+            int pair = i & (NUMBER_OF_PAIRS - 1);
+            sum += board.shortestDistanceBetween(positions1[pair], positions2[pair], Player.Type.HIDER);
+        }
+        return sum;
+    }
+
+    private static void measure(String name, LookupIteration iteration) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+            blackhole += iteration.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++)
+            blackhole += iteration.run();
+        long elapsed = System.nanoTime() - start;
+        Benchmarks.printResult(name, (long) LOOKUPS_PER_ITERATION * MEASUREMENT_ITERATIONS, elapsed, 0);
+    }
+
+    private interface LookupIteration {
+        int run();
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Board;
+import io.github.nejc92.sy.utilities.BoardFileParser;
+import io.github.nejc92.sy.utilities.DistancesFileParser;
+
+public class DistancesCalculationBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_REPETITIONS = 50;
+    private static final String BOARD_FILE_NAME = "src/main/resources/board_file.xml";
+    private static final String HIDERS_DISTANCES_FILE_NAME = "src/main/resources/hiders_distances_file.xml";
+    private static final String SEEKERS_DISTANCES_FILE_NAME = "src/main/resources/seekers_distances_file.xml";
+
+    public static void main(String... args) {
+        int repetitions = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_REPETITIONS);
+        for (int i = 0; i < 2; i++) {
+            System.out.println(i == 0 ? "Warmup:" : "Measurement:");
+            measure("XML board and distances files", repetitions / 10 + 1, () -> {
+                new BoardFileParser(BOARD_FILE_NAME).getParsedData();
+                new DistancesFileParser(HIDERS_DISTANCES_FILE_NAME).getParsedData();
+                new DistancesFileParser(SEEKERS_DISTANCES_FILE_NAME).getParsedData();
+            });
+            measure("binary board file", repetitions, Board::initialize);
+            measure("XML board file with parallel BFS", repetitions,
+                    () -> Board.initializeFromBoardFile(BOARD_FILE_NAME));
+        }
+    }
+
+    private static void measure(String name, int repetitions, Runnable initialization) {
+        long allocatedBytes = Benchmarks.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < repetitions; i++)
+            initialization.run();
+        long elapsed = System.nanoTime() - start;
+        allocatedBytes = Benchmarks.currentThreadAllocatedBytes() - allocatedBytes;
+        Benchmarks.printResult(name, repetitions, elapsed, allocatedBytes);
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Board;
+import io.github.nejc92.sy.players.Player;
+import io.github.nejc92.sy.utilities.WeightedSampler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class HidersPositionSamplingBenchmark {
+
+    private static final int[] BELIEF_SIZES = {1, 5, 20, 50, 100, 150};
+    private static final int NUMBER_OF_SEEKERS = 5;
+    private static final double[] DISTANCE_TO_HIDER_PROBABILITIES = {0.196, 0.671, 0.540, 0.384, 0.196};
+    private static final int SAMPLES_PER_ITERATION = 200_000;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    private static final Board BOARD = Board.getInstance();
+    private static int blackhole;
+
+    public static void main(String... args) {
+        for (int beliefSize : BELIEF_SIZES) {
+            List<Integer> positions = IntStream.rangeClosed(1, BOARD.getNumberOfPositions())
+                    .boxed().collect(Collectors.toList());
+            Collections.shuffle(positions);
+            int[] seekersPositions = positions.subList(0, NUMBER_OF_SEEKERS).stream()
+                    .mapToInt(Integer::intValue).toArray();
+            int[] possiblePositions = positions.subList(NUMBER_OF_SEEKERS, NUMBER_OF_SEEKERS + beliefSize).stream()
+                    .mapToInt(Integer::intValue).toArray();
+            measure("rejection sampling, belief " + beliefSize,
+                    () -> sampleWithRejection(possiblePositions, seekersPositions));
+            measure("cumulative weights, belief " + beliefSize,
+                    () -> sampleWithCumulativeWeights(possiblePositions, seekersPositions));
+        }
+        System.out.println(blackhole);
+    }
+
+    private static int sampleWithRejection(int[] possiblePositions, int[] seekersPositions) {
+        List<Integer> seekers = Arrays.stream(seekersPositions).boxed().collect(Collectors.toList());
+        double[] probabilities = new double[possiblePositions.length];
+        for (int i = 0; i < possiblePositions.length; i++) {
+            int position = possiblePositions[i];
+            int closestSeeker = seekers.stream().min((position1, position2) -> Integer.compare(
+                    BOARD.shortestDistanceBetween(position1, position, Player.Type.HIDER),
+                    BOARD.shortestDistanceBetween(position2, position, Player.Type.HIDER))).get();
+            int distance = BOARD.shortestDistanceBetween(closestSeeker, position, Player.Type.HIDER);
+            probabilities[i] = getProbability(distance);
+        }
+        double maxWeight = Arrays.stream(probabilities).max().getAsDouble();
+        while (true) {
+            int chosen = (int) (probabilities.length * Math.random());
+            if (Math.random() < probabilities[chosen] / maxWeight)
+                return possiblePositions[chosen];
+        }
+    }
+
+    private static int sampleWithCumulativeWeights(int[] possiblePositions, int[] seekersPositions) {
+        WeightedSampler sampler = new WeightedSampler(possiblePositions.length);
+        for (int position : possiblePositions) {
+            int distance = Integer.MAX_VALUE;
+            for (int seekersPosition : seekersPositions)
+                distance = Math.min(distance, BOARD.shortestDistanceBetween(position, seekersPosition,
+                        Player.Type.HIDER));
+            sampler.add(position, getProbability(distance));
+        }
+        return sampler.sample();
+    }
+
+    private static double getProbability(int distance) {
+        return DISTANCE_TO_HIDER_PROBABILITIES[Math.min(distance, DISTANCE_TO_HIDER_PROBABILITIES.length) - 1];
+    }
+
+    private static void measure(String name, Sample sample) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+            runIteration(sample);
+        long allocatedBytes = Benchmarks.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++)
+            runIteration(sample);
+        long elapsed = System.nanoTime() - start;
+        allocatedBytes = Benchmarks.currentThreadAllocatedBytes() - allocatedBytes;
+        Benchmarks.printResult(name, (long) SAMPLES_PER_ITERATION * MEASUREMENT_ITERATIONS, elapsed, allocatedBytes);
+    }
+
+    private static void runIteration(Sample sample) {
+        for (int i = 0; i < SAMPLES_PER_ITERATION; i++)
+            blackhole += sample.run();
+    }
+
+    private interface Sample {
+        int run();
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.search.TreeSearch;
+
+public class LeafParallelSearchBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_GAMES = 10;
+    private static final int DEFAULT_NUMBER_OF_ITERATIONS = 2_000;
+    private static final int[] NUMBERS_OF_PLAYOUTS = {1, 2, 4, 8};
+
+    private static long numberOfSearches;
+    private static long numberOfPlayouts;
+    private static long elapsed;
+
+    public static void main(String... args) {
+        int games = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_GAMES);
+        int iterations = Benchmarks.intArgument(args, 1, DEFAULT_NUMBER_OF_ITERATIONS);
+        TreeSearch hidersSearch = TreeSearch.initializeIterations(iterations);
+        for (int playouts : NUMBERS_OF_PLAYOUTS) {
+            TreeSearch seekersSearch = TreeSearch.initializeIterations(iterations).setNumberOfPlayouts(playouts);
+            measure(playouts, hidersSearch, seekersSearch, games);
+        }
+    }
+
+    private static void measure(int playouts, TreeSearch hidersSearch, TreeSearch seekersSearch, int games) {
+        numberOfSearches = 0;
+        numberOfPlayouts = 0;
+        elapsed = 0;
+        int seekersWins = 0;
+        for (int i = 0; i < games; i++) {
+            if (Benchmarks.playGame(hidersSearch::uctSearchWithExploration,
+                    (state, explorationParameter) -> search(seekersSearch, state, explorationParameter)))
+                seekersWins++;
+        }
+        System.out.printf("%-40s %12.3f ms/search %14.1f playouts/s %6d of %d games won by seekers%n",
+                "leaf parallel search, " + playouts + " playouts", elapsed / 1e6 / numberOfSearches,
+                numberOfPlayouts * 1e9 / elapsed, seekersWins, games);
+    }
+
+    private static Action search(TreeSearch treeSearch, State state, double explorationParameter) {
+        long start = System.nanoTime();
+        Action action = treeSearch.uctSearchWithExploration(state, explorationParameter);
+        elapsed += System.nanoTime() - start;
+        numberOfSearches++;
+        numberOfPlayouts += (long) treeSearch.getNumberOfIterations() * treeSearch.getNumberOfPlayouts();
+        return action;
+    }
+}
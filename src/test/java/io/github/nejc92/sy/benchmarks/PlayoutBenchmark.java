@@ -0,0 +1,43 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.SimulationState;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.players.Player;
+
+public class PlayoutBenchmark {
+
+    private static final int MINIMUM_NUMBER_OF_PLAYERS = 2;
+    private static final int MAXIMUM_NUMBER_OF_PLAYERS = 7;
+    private static final int DEFAULT_NUMBER_OF_PLAYOUTS = 5_000;
+
+    private static int blackhole;
+
+    public static void main(String... args) {
+        int playouts = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_PLAYOUTS);
+        for (int i = 0; i < 2; i++) {
+            System.out.println(i == 0 ? "Warmup:" : "Measurement:");
+            for (int players = MINIMUM_NUMBER_OF_PLAYERS; players <= MAXIMUM_NUMBER_OF_PLAYERS; players++)
+                measure(players, playouts);
+        }
+        System.out.println(blackhole);
+    }
+
+    private static void measure(int numberOfPlayers, int playouts) {
+        long elapsed = 0;
+        long allocatedBytes = 0;
+        for (int i = 0; i < playouts; i++) {
+            Player[] players = Benchmarks.createMctsPlayers(numberOfPlayers);
+            State state = State.initialize(players);
+            state.setSearchModeOn();
+            long startAllocatedBytes = Benchmarks.currentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            SimulationState terminalState = players[0].getTerminalStateByPerformingSimulation(
+                    state.createSimulationState());
+            elapsed += System.nanoTime() - start;
+            allocatedBytes += Benchmarks.currentThreadAllocatedBytes() - startAllocatedBytes;
+            if (terminalState.seekersWon())
+                blackhole++;
+        }
+        Benchmarks.printResult("playout, " + numberOfPlayers + " players", playouts, elapsed, allocatedBytes);
+    }
+}
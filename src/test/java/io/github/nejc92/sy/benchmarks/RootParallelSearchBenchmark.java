@@ -0,0 +1,47 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.search.TreeSearch;
+
+public class RootParallelSearchBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_GAMES = 10;
+    private static final int DEFAULT_NUMBER_OF_ITERATIONS = 2_000;
+    private static final int[] NUMBERS_OF_THREADS = {1, 2, 4, 8, 16};
+
+    private static long numberOfIterations;
+    private static long elapsed;
+
+    public static void main(String... args) {
+        int games = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_GAMES);
+        int iterations = Benchmarks.intArgument(args, 1, DEFAULT_NUMBER_OF_ITERATIONS);
+        TreeSearch hidersSearch = TreeSearch.initializeIterations(iterations);
+        for (int threads : NUMBERS_OF_THREADS) {
+            TreeSearch seekersSearch = TreeSearch.initializeIterations(iterations).setNumberOfThreads(threads);
+            measure(threads, hidersSearch, seekersSearch, games);
+        }
+    }
+
+    private static void measure(int threads, TreeSearch hidersSearch, TreeSearch seekersSearch, int games) {
+        numberOfIterations = 0;
+        elapsed = 0;
+        int seekersWins = 0;
+        for (int i = 0; i < games; i++) {
+            if (Benchmarks.playGame(hidersSearch::uctSearchWithRootParallelization,
+                    (state, explorationParameter) -> search(seekersSearch, state, explorationParameter)))
+                seekersWins++;
+        }
+        System.out.printf("%-40s %14.1f iterations/s %12d of %d games won by seekers%n",
+                "root parallel search, " + threads + " threads", numberOfIterations * 1e9 / elapsed,
+                seekersWins, games);
+    }
+
+    private static Action search(TreeSearch treeSearch, State state, double explorationParameter) {
+        long start = System.nanoTime();
+        Action action = treeSearch.uctSearchWithRootParallelization(state, explorationParameter);
+        elapsed += System.nanoTime() - start;
+        numberOfIterations += (long) treeSearch.getNumberOfIterations() * treeSearch.getNumberOfThreads();
+        return action;
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.search.TreeSearch;
+
+public class TimeBudgetedSearchBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_GAMES = 10;
+    private static final int DEFAULT_NUMBER_OF_HIDERS_ITERATIONS = 2_000;
+    private static final long[] TIME_BUDGETS_MILLIS = {25, 50, 100, 150};
+
+    private static long numberOfSearches;
+    private static long numberOfIterations;
+    private static int minimumNumberOfIterations;
+    private static int maximumNumberOfIterations;
+    private static long elapsed;
+    private static long maximumElapsed;
+
+    public static void main(String... args) {
+        int games = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_GAMES);
+        int hidersIterations = Benchmarks.intArgument(args, 1, DEFAULT_NUMBER_OF_HIDERS_ITERATIONS);
+        TreeSearch hidersSearch = TreeSearch.initializeIterations(hidersIterations);
+        for (long timeBudget : TIME_BUDGETS_MILLIS)
+            measure(timeBudget, hidersSearch, TreeSearch.initializeTimeBudget(timeBudget), games);
+    }
+
+    private static void measure(long timeBudget, TreeSearch hidersSearch, TreeSearch seekersSearch, int games) {
+        numberOfSearches = 0;
+        numberOfIterations = 0;
+        minimumNumberOfIterations = Integer.MAX_VALUE;
+        maximumNumberOfIterations = 0;
+        elapsed = 0;
+        maximumElapsed = 0;
+        int seekersWins = 0;
+        for (int i = 0; i < games; i++) {
+            if (Benchmarks.playGame(hidersSearch::uctSearchWithExploration,
+                    (state, explorationParameter) -> search(seekersSearch, state, explorationParameter)))
+                seekersWins++;
+        }
+        System.out.printf("%-40s %10.3f ms/search %10.3f ms max %8d min %8d avg %8d max iterations"
+                        + " %6d of %d games won by seekers%n",
+                "time budget, " + timeBudget + " ms", elapsed / 1e6 / numberOfSearches, maximumElapsed / 1e6,
+                minimumNumberOfIterations, numberOfIterations / numberOfSearches, maximumNumberOfIterations,
+                seekersWins, games);
+    }
+
+    private static Action search(TreeSearch treeSearch, State state, double explorationParameter) {
+        long start = System.nanoTime();
+        Action action = treeSearch.uctSearchWithExploration(state, explorationParameter);
+        long searchElapsed = System.nanoTime() - start;
+        int searchIterations = treeSearch.getNumberOfCompletedIterations();
+        elapsed += searchElapsed;
+        maximumElapsed = Math.max(maximumElapsed, searchElapsed);
+        numberOfSearches++;
+        numberOfIterations += searchIterations;
+        minimumNumberOfIterations = Math.min(minimumNumberOfIterations, searchIterations);
+        maximumNumberOfIterations = Math.max(maximumNumberOfIterations, searchIterations);
+        return action;
+    }
+}
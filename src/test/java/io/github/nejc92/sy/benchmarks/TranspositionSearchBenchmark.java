@@ -0,0 +1,65 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.search.TreeSearch;
+
+public class TranspositionSearchBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_GAMES = 10;
+    private static final int DEFAULT_NUMBER_OF_ITERATIONS = 2_000;
+
+    private static long numberOfSearches;
+    private static long elapsed;
+    private static long allocatedBytes;
+    private static long numberOfTranspositionTableNodes;
+
+    public static void main(String... args) {
+        int games = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_GAMES);
+        int iterations = Benchmarks.intArgument(args, 1, DEFAULT_NUMBER_OF_ITERATIONS);
+        TreeSearch treeSearch = TreeSearch.initializeIterations(iterations);
+        measure("hider", treeSearch, games, true, false);
+        measure("hider with transpositions", treeSearch, games, true, true);
+        measure("seekers", treeSearch, games, false, false);
+        measure("seekers with transpositions", treeSearch, games, false, true);
+    }
+
+    private static void measure(String name, TreeSearch treeSearch, int games, boolean measuresHider,
+                                boolean usesTranspositions) {
+        numberOfSearches = 0;
+        elapsed = 0;
+        allocatedBytes = 0;
+        numberOfTranspositionTableNodes = 0;
+        Benchmarks.Search measuredSearch = (state, explorationParameter) -> search(
+                treeSearch, state, explorationParameter, usesTranspositions);
+        Benchmarks.Search otherSearch = treeSearch::uctSearchWithExploration;
+        int seekersWins = 0;
+        for (int i = 0; i < games; i++) {
+            if (measuresHider ? Benchmarks.playGame(measuredSearch, otherSearch)
+                    : Benchmarks.playGame(otherSearch, measuredSearch))
+                seekersWins++;
+        }
+        Benchmarks.printResult("search, " + name, numberOfSearches, elapsed, allocatedBytes);
+        if (usesTranspositions) {
+            long nodesPerSearch = numberOfTranspositionTableNodes / numberOfSearches;
+            System.out.printf("%-40s %12d nodes/op %13.1f %% of table capacity%n", "", nodesPerSearch,
+                    100.0 * nodesPerSearch / treeSearch.getTranspositionTableCapacity());
+        }
+        System.out.printf("%-40s %12d of %d games won by seekers%n", "", seekersWins, games);
+    }
+
+    private static Action search(TreeSearch treeSearch, State state, double explorationParameter,
+                                 boolean usesTranspositions) {
+        long startAllocatedBytes = Benchmarks.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        Action action = usesTranspositions
+                ? treeSearch.uctSearchWithTranspositions(state, explorationParameter)
+                : treeSearch.uctSearchWithExploration(state, explorationParameter);
+        elapsed += System.nanoTime() - start;
+        allocatedBytes += Benchmarks.currentThreadAllocatedBytes() - startAllocatedBytes;
+        if (usesTranspositions)
+            numberOfTranspositionTableNodes += treeSearch.getNumberOfTranspositionTableNodes();
+        numberOfSearches++;
+        return action;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.search.TreeSearch;
+
+public class TreeParallelSearchBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_GAMES = 10;
+    private static final int DEFAULT_TIME_BUDGET_MILLIS = 50;
+    private static final int DEFAULT_NUMBER_OF_HIDERS_ITERATIONS = 2_000;
+    private static final int[] NUMBERS_OF_THREADS = {1, 2, 4, 8, 16};
+
+    private static long numberOfSearches;
+    private static long numberOfIterations;
+
+    public static void main(String... args) {
+        int games = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_GAMES);
+        int timeBudget = Benchmarks.intArgument(args, 1, DEFAULT_TIME_BUDGET_MILLIS);
+        int hidersIterations = Benchmarks.intArgument(args, 2, DEFAULT_NUMBER_OF_HIDERS_ITERATIONS);
+        TreeSearch hidersSearch = TreeSearch.initializeIterations(hidersIterations);
+        double singleThreadedIterationsPerSearch = measure("single-threaded search, " + timeBudget + " ms",
+                hidersSearch, TreeSearch.initializeTimeBudget(timeBudget), games, false);
+        for (int threads : NUMBERS_OF_THREADS) {
+            TreeSearch seekersSearch = TreeSearch.initializeTimeBudget(timeBudget).setNumberOfThreads(threads);
+            double iterationsPerSearch = measure("tree parallel search, " + threads + " threads", hidersSearch,
+                    seekersSearch, games, true);
+            System.out.printf("%-40s %14.2f x single-threaded iterations at equal wall-clock time%n", "",
+                    iterationsPerSearch / singleThreadedIterationsPerSearch);
+        }
+    }
+
+    private static double measure(String name, TreeSearch hidersSearch, TreeSearch seekersSearch, int games,
+                                  boolean treeParallel) {
+        numberOfSearches = 0;
+        numberOfIterations = 0;
+        int seekersWins = 0;
+        for (int i = 0; i < games; i++) {
+            if (Benchmarks.playGame(hidersSearch::uctSearchWithExploration,
+                    (state, explorationParameter) -> search(seekersSearch, state, explorationParameter,
+                            treeParallel)))
+                seekersWins++;
+        }
+        double iterationsPerSearch = (double) numberOfIterations / numberOfSearches;
+        System.out.printf("%-40s %14.1f iterations/search %8.3f win rate %6d of %d games won by seekers%n",
+                name, iterationsPerSearch, (double) seekersWins / games, seekersWins, games);
+        return iterationsPerSearch;
+    }
+
+    private static Action search(TreeSearch treeSearch, State state, double explorationParameter,
+                                 boolean treeParallel) {
+        Action action = treeParallel
+                ? treeSearch.uctSearchWithTreeParallelization(state, explorationParameter)
+                : treeSearch.uctSearchWithExploration(state, explorationParameter);
+        numberOfSearches++;
+        numberOfIterations += treeSearch.getNumberOfCompletedIterations();
+        return action;
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.nejc92.sy.benchmarks;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.search.TreeSearch;
+
+public class TreeReuseBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_GAMES = 10;
+    private static final int DEFAULT_NUMBER_OF_ITERATIONS = 2_000;
+    private static final int TREE_REUSE_CAPACITY = 1 << 18;
+
+    private static long numberOfSearches;
+    private static long numberOfNodes;
+    private static long numberOfReusedNodes;
+    private static long elapsed;
+
+    public static void main(String... args) {
+        int games = Benchmarks.intArgument(args, 0, DEFAULT_NUMBER_OF_GAMES);
+        int iterations = Benchmarks.intArgument(args, 1, DEFAULT_NUMBER_OF_ITERATIONS);
+        TreeSearch hidersSearch = TreeSearch.initializeIterations(iterations);
+        TreeSearch seekersSearch = TreeSearch.initializeIterations(iterations);
+        measure("no tree reuse", hidersSearch, seekersSearch, games, false);
+        measure("seekers reuse trees", hidersSearch,
+                TreeSearch.initializeIterations(iterations).setTreeReuseCapacity(TREE_REUSE_CAPACITY), games, false);
+        measure("hider reuses trees", TreeSearch.initializeIterations(iterations)
+                .setTreeReuseCapacity(TREE_REUSE_CAPACITY), seekersSearch, games, true);
+    }
+
+    private static void measure(String name, TreeSearch hidersSearch, TreeSearch seekersSearch, int games,
+                                boolean hiderMeasured) {
+        numberOfSearches = 0;
+        numberOfNodes = 0;
+        numberOfReusedNodes = 0;
+        elapsed = 0;
+        int seekersWins = 0;
+        for (int i = 0; i < games; i++) {
+            if (Benchmarks.playGame(
+                    (state, explorationParameter) -> search(hidersSearch, state, explorationParameter, hiderMeasured),
+                    (state, explorationParameter) -> search(seekersSearch, state, explorationParameter,
+                            !hiderMeasured)))
+                seekersWins++;
+        }
+        System.out.printf("%-40s %12.3f ms/search %10.3f nodes reused %6d of %d games won by seekers%n",
+                name, elapsed / 1e6 / numberOfSearches, (double) numberOfReusedNodes / numberOfNodes,
+                seekersWins, games);
+    }
+
+    private static Action search(TreeSearch treeSearch, State state, double explorationParameter,
+                                 boolean measured) {
+        long start = System.nanoTime();
+        Action action = treeSearch.uctSearchWithExploration(state, explorationParameter);
+        if (measured) {
+            elapsed += System.nanoTime() - start;
+            numberOfSearches++;
+            numberOfReusedNodes += treeSearch.getNumberOfReusedNodes();
+            numberOfNodes += treeSearch.getNumberOfReusedNodes() + treeSearch.getNumberOfCompletedIterations();
+        }
+        return action;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.nejc92.sy.game;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ActionTest {
+
+    @Test
+    public void testCodeRoundTrip() {
+        for (Action.Transportation transportation : Action.Transportation.values()) {
+            for (int destination = 1; destination <= 199; destination++) {
+                int code = Action.encode(transportation, destination);
+                assertEquals(transportation, Action.getTransportation(code));
+                assertEquals(destination, Action.getDestination(code));
+                assertEquals(new Action(transportation, destination), Action.fromCode(code));
+                assertEquals(code, new Action(transportation, destination).getCode());
+            }
+        }
+    }
+
+    @Test
+    public void testCanonicalActions() {
+        assertSame(Action.of(Action.Transportation.BUS, 157), Action.of(Action.Transportation.BUS, 157));
+        assertSame(Action.of(Action.Transportation.BUS, 157),
+                Action.fromCode(Action.encode(Action.Transportation.BUS, 157)));
+        assertNotSame(Action.of(Action.Transportation.BUS, 157), Action.of(Action.Transportation.TAXI, 157));
+    }
+
+    @Test
+    public void testCanonicalActionsBeyondDefaultBoard() {
+        Action action = Action.of(Action.Transportation.TAXI, 1000);
+        assertEquals(1000, action.getDestination());
+        assertSame(action, Action.fromCode(Action.encode(Action.Transportation.TAXI, 1000)));
+        assertSame(Action.of(Action.Transportation.BUS, 157), Action.of(Action.Transportation.BUS, 157));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testActionWithNegativeDestination() {
+        Action.of(Action.Transportation.TAXI, -1);
+    }
+
+    @Test
+    public void testToBlackFareCode() {
+        int code = Action.encode(Action.Transportation.UNDERGROUND, 67);
+        int blackFareCode = Action.toBlackFareCode(code);
+        assertTrue(Action.isTransportationAction(blackFareCode, Action.Transportation.BLACK_FARE));
+        assertEquals(67, Action.getDestination(blackFareCode));
+    }
+}
@@ -35,7 +35,17 @@ public class BoardTest {
             new Action(Action.Transportation.BUS, 142),
             new Action(Action.Transportation.BUS, 185)));
 
-    private Board board = Board.initialize();
+    private Board board = Board.getInstance();
+
+    @Test
+    public void testGetInstanceIsShared() {
+        assertSame(board, Board.getInstance());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testActionsForPositionAreImmutable() {
+        board.getActionsForPosition(157).clear();
+    }
 
     @Test
     public void testGetDestinationsForPosition() {
@@ -71,4 +81,44 @@ public class BoardTest {
         shortestDistance = board.shortestDistanceBetween(130, 63, Player.Type.HIDER);
         assertEquals(4, shortestDistance);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testShortestDistanceBetweenIsSymmetric() {
+        assertEquals(0, board.shortestDistanceBetween(66, 66, Player.Type.SEEKER));
+        assertEquals(board.shortestDistanceBetween(66, 124, Player.Type.HIDER),
+                board.shortestDistanceBetween(124, 66, Player.Type.HIDER));
+        assertEquals(board.shortestDistanceBetween(1, 199, Player.Type.SEEKER),
+                board.shortestDistanceBetween(199, 1, Player.Type.SEEKER));
+    }
+
+    @Test
+    public void testTransportationDestinationsRange() {
+        int start = board.getTransportationDestinationsStart(Action.Transportation.BUS, 157);
+        int end = board.getTransportationDestinationsEnd(Action.Transportation.BUS, 157);
+        assertEquals(4, end - start);
+        assertEquals(156, board.getDestination(start));
+        assertEquals(185, board.getDestination(end - 1));
+    }
+
+    @Test
+    public void testDestinationsRange() {
+        int start = board.getDestinationsStart(157);
+        int end = board.getDestinationsEnd(157);
+        assertEquals(ACTIONS_157.size(), end - start);
+        assertEquals(start, board.getTransportationDestinationsStart(Action.Transportation.TAXI, 157));
+        assertEquals(end, board.getTransportationDestinationsEnd(Action.Transportation.BLACK_FARE, 157));
+    }
+
+    @Test
+    public void testTicketsActionsForPosition() {
+        int busMask = Board.getTicketsMask(Action.Transportation.BUS);
+        assertArrayEquals(ACTIONS_157_BUS.stream().mapToInt(Action::getCode).toArray(),
+                board.getTicketsActionCodesForPosition(157, busMask));
+        assertEquals(0, board.getTicketsActionCodesForPosition(157, 0).length);
+        int allTicketsMask = 0;
+        for (Action.Transportation transportation : Action.Transportation.values())
+            allTicketsMask |= Board.getTicketsMask(transportation);
+        assertArrayEquals(ACTIONS_157.stream().mapToInt(Action::getCode).toArray(),
+                board.getTicketsActionCodesForPosition(157, allTicketsMask));
+    }
+}
@@ -23,7 +23,8 @@ public class PlayersOnBoardTest {
 
     @Before
     public void setUp() throws Exception {
-        playersOnBoard = PlayersOnBoard.initializeTest(PLAYERS, PLAYERS_POSITIONS, HIDERS_MOST_PROBABLE_POSITION);
+        playersOnBoard = PlayersOnBoard.initializeTest(PLAYERS, PLAYERS_POSITIONS.clone(),
+                HIDERS_MOST_PROBABLE_POSITION);
     }
 
     private static Player[] initializePlayers() {
@@ -82,6 +83,18 @@ public class PlayersOnBoardTest {
         assertTrue(playersOnBoard.anySeekerOnHidersActualPosition());
     }
 
+    @Test
+    public void testSeekerOnPosition() {
+        Seeker seeker = (Seeker) PLAYERS[2];
+        assertTrue(playersOnBoard.seekerOnPosition(seeker, 155));
+        assertTrue(playersOnBoard.anySeekerOnPosition(155));
+        playersOnBoard.movePlayerFromActualPosition(2, new Action(Action.Transportation.TAXI, 156));
+        assertFalse(playersOnBoard.seekerOnPosition(seeker, 155));
+        assertFalse(playersOnBoard.anySeekerOnPosition(155));
+        assertTrue(playersOnBoard.seekerOnPosition(seeker, 156));
+        assertTrue(playersOnBoard.anySeekerOnPosition(156));
+    }
+
     @Test
     public void testGetAvailableActionsFromSeekersPov() {
         List<Action> availableActions = new ArrayList<>(Arrays.asList(
@@ -101,6 +114,34 @@ public class PlayersOnBoardTest {
         assertEquals(availableActions, playersOnBoard.getAvailableActionsFromSeekersPov(1));
     }
 
+    @Test
+    public void testRecalculateHidersPossiblePositions() {
+        playersOnBoard.setHidersActualAsMostProbablePosition();
+        assertArrayEquals(new int[] {34}, playersOnBoard.getHidersPossiblePositions());
+        playersOnBoard.recalculateHidersMostProbablePosition(Action.Transportation.TAXI);
+        assertArrayEquals(new int[] {10, 22, 47, 48}, playersOnBoard.getHidersPossiblePositions());
+        playersOnBoard.movePlayerFromActualPosition(2, new Action(Action.Transportation.TAXI, 156));
+        playersOnBoard.movePlayerFromActualPosition(2, new Action(Action.Transportation.TAXI, 47));
+        playersOnBoard.removeCurrentSeekersPositionFromPossibleHidersPositions(2);
+        assertArrayEquals(new int[] {10, 22, 48}, playersOnBoard.getHidersPossiblePositions());
+    }
+
+    @Test
+    public void testShortestDistanceBetweenPositionAndClosestSeeker() {
+        playersOnBoard.movePlayerFromActualPosition(3, new Action(Action.Transportation.TAXI, 23));
+        playersOnBoard.movePlayerFromSeekersPov(1, new Action(Action.Transportation.BUS, 77));
+        playersOnBoard.movePlayerFromActualPosition(3, new Action(Action.Transportation.BUS, 67));
+        int[] seekersPositions = {77, 155, 67, 197, 53};
+        Board board = Board.getInstance();
+        for (int position = 1; position <= board.getNumberOfPositions(); position++) {
+            int shortestDistance = Integer.MAX_VALUE;
+            for (int seekersPosition : seekersPositions)
+                shortestDistance = Math.min(shortestDistance,
+                        board.shortestDistanceBetween(position, seekersPosition, Player.Type.HIDER));
+            assertEquals(shortestDistance, playersOnBoard.shortestDistanceBetweenPositionAndClosestSeeker(position));
+        }
+    }
+
 //    @Test
 //    public void testMovePlayerFromActualPosition() {
 //
@@ -0,0 +1,49 @@
+package io.github.nejc92.sy.game;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PositionsBitSetTest {
+
+    private static final int NUMBER_OF_POSITIONS = 199;
+
+    @Test
+    public void testFitsIntoFourWords() {
+        assertEquals(4, PositionsBitSet.create(NUMBER_OF_POSITIONS).length);
+    }
+
+    @Test
+    public void testAddRemoveAndContains() {
+        long[] bitSet = PositionsBitSet.create(NUMBER_OF_POSITIONS);
+        PositionsBitSet.add(bitSet, 1);
+        PositionsBitSet.add(bitSet, 64);
+        PositionsBitSet.add(bitSet, 199);
+        assertTrue(PositionsBitSet.contains(bitSet, 64));
+        assertEquals(3, PositionsBitSet.size(bitSet));
+        PositionsBitSet.remove(bitSet, 64);
+        assertFalse(PositionsBitSet.contains(bitSet, 64));
+        assertArrayEquals(new int[] {1, 199}, PositionsBitSet.toPositions(bitSet));
+    }
+
+    @Test
+    public void testAndNot() {
+        long[] bitSet = PositionsBitSet.create(NUMBER_OF_POSITIONS);
+        long[] removedPositions = PositionsBitSet.create(NUMBER_OF_POSITIONS);
+        PositionsBitSet.add(bitSet, 13);
+        PositionsBitSet.add(bitSet, 130);
+        PositionsBitSet.add(removedPositions, 130);
+        PositionsBitSet.andNot(bitSet, removedPositions);
+        assertArrayEquals(new int[] {13}, PositionsBitSet.toPositions(bitSet));
+    }
+
+    @Test
+    public void testNextPosition() {
+        long[] bitSet = PositionsBitSet.create(NUMBER_OF_POSITIONS);
+        PositionsBitSet.add(bitSet, 63);
+        PositionsBitSet.add(bitSet, 128);
+        assertEquals(63, PositionsBitSet.nextPosition(bitSet, 0));
+        assertEquals(128, PositionsBitSet.nextPosition(bitSet, 64));
+        assertEquals(-1, PositionsBitSet.nextPosition(bitSet, 129));
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.nejc92.sy.game;
+
+import io.github.nejc92.sy.players.Player;
+import io.github.nejc92.sy.utilities.BoardFileParser;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShortestDistancesCalculatorTest {
+
+    private static final String BOARD_FILE_NAME = "src/main/resources/board_file.xml";
+
+    private final List<List<Action>> positionsActions = new BoardFileParser(BOARD_FILE_NAME).getParsedData();
+    private final ShortestDistancesCalculator calculator = new ShortestDistancesCalculator(positionsActions);
+
+    @Test
+    public void testCalculatedDistancesMatchDistancesFiles() {
+        Board board = Board.getInstance();
+        for (Player.Type type : Player.Type.values()) {
+            byte[] distances = calculator.calculate(type);
+            for (int position1 = 1; position1 <= positionsActions.size(); position1++) {
+                for (int position2 = 1; position2 <= positionsActions.size(); position2++) {
+                    assertEquals(board.shortestDistanceBetween(position1, position2, type),
+                            distances[position1 * (positionsActions.size() + 1) + position2]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSeekersCannotUseBlackFare() {
+        Board board = Board.initializeFromBoardFile(BOARD_FILE_NAME);
+        assertEquals(1, board.shortestDistanceBetween(157, 115, Player.Type.HIDER));
+        assertTrue(board.shortestDistanceBetween(157, 115, Player.Type.SEEKER) > 1);
+    }
+
+    @Test
+    public void testCacheStoresAndLoadsDistances() throws Exception {
+        File directory = Files.createTempDirectory("distances").toFile();
+        ShortestDistancesCache cache = new ShortestDistancesCache(directory.getPath(), BOARD_FILE_NAME);
+        byte[] calculated = cache.loadOrCalculate(Player.Type.SEEKER, calculator);
+        File[] cacheFiles = directory.listFiles();
+        assertEquals(1, cacheFiles.length);
+        byte[] loaded = cache.loadOrCalculate(Player.Type.SEEKER, null);
+        assertArrayEquals(calculated, loaded);
+        cacheFiles[0].delete();
+        directory.delete();
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.nejc92.sy.game;
+
+import io.github.nejc92.sy.players.*;
+import io.github.nejc92.sy.strategies.CoalitionReduction;
+import io.github.nejc92.sy.strategies.MoveFiltering;
+import io.github.nejc92.sy.strategies.Playouts;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SimulationStateTest {
+
+    private static final int[] PLAYERS_POSITIONS = {34, 94, 155, 13};
+    private static final int HIDERS_MOST_PROBABLE_POSITION = 103;
+    private static final int MAX_NUMBER_OF_MOVES = 100;
+
+    private Player[] players;
+    private State state;
+    private SimulationState simulationState;
+
+    @Before
+    public void setUp() {
+        players = initializePlayers();
+        state = State.initializeTest(players, PLAYERS_POSITIONS.clone(), HIDERS_MOST_PROBABLE_POSITION);
+        simulationState = state.createSimulationState();
+    }
+
+    private static Player[] initializePlayers() {
+        Player[] players = new Player[4];
+        players[0] = new Hider(Player.Operator.HUMAN, "", Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        players[1] = new Seeker(Player.Operator.MCTS, Seeker.Color.BLACK.name(), Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        players[2] = new Seeker(Player.Operator.MCTS, Seeker.Color.BLUE.name(), Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        players[3] = new Seeker(Player.Operator.MCTS, Seeker.Color.YELLOW.name(), Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        return players;
+    }
+
+    @Test
+    public void testSimulationStateFollowsState() {
+        assertSimulationStateFollowsState();
+    }
+
+    @Test
+    public void testSimulationStateFollowsStateInSeekersSearch() {
+        state.performActionForCurrentAgent(state.getAvailableActionsForCurrentAgent().get(0));
+        state.setSearchModeOn();
+        state.determinizeHidersPosition();
+        simulationState = state.createSimulationState();
+        assertSimulationStateFollowsState();
+    }
+
+    private void assertSimulationStateFollowsState() {
+        Random random = new Random(42);
+        int[] actionCodes = State.createAvailableActionsBuffer();
+        int[] simulationActionCodes = State.createAvailableActionsBuffer();
+        for (int move = 0; move < MAX_NUMBER_OF_MOVES && !state.isTerminal(); move++) {
+            assertFalse(simulationState.isTerminal());
+            int numberOfActions = state.fillAvailableActionCodesForCurrentAgent(actionCodes);
+            assertArrayEquals(Arrays.copyOf(actionCodes, numberOfActions), Arrays.copyOf(simulationActionCodes,
+                    simulationState.fillAvailableActionCodesForCurrentAgent(simulationActionCodes)));
+            if (numberOfActions > 0) {
+                int actionCode = actionCodes[random.nextInt(numberOfActions)];
+                state.performActionForCurrentAgent(actionCode);
+                simulationState.performActionForCurrentAgent(actionCode);
+            }
+            else {
+                state.skipCurrentAgent();
+                simulationState.skipCurrentAgent();
+            }
+            assertSimulationStateEqualsState();
+        }
+        assertTrue(simulationState.isTerminal());
+    }
+
+    private void assertSimulationStateEqualsState() {
+        PlayersOnBoard playersOnBoard = state.getPlayersOnBoard();
+        assertEquals(state.currentPlayerIsHider(), simulationState.currentPlayerIsHider());
+        assertArrayEquals(playersOnBoard.copyPlayersActualPositions(), simulationState.getPlayersPositions());
+        assertArrayEquals(playersOnBoard.copyHidersPossiblePositions(), simulationState.getHidersPossiblePositions());
+        if (playersOnBoard.hidersPositionIsDeterminized())
+            assertEquals(playersOnBoard.getHidersMostProbablePosition(),
+                    simulationState.getHidersMostProbablePosition());
+        assertEquals(state.hiderWon(), simulationState.hiderWon());
+        assertEquals(state.seekersWon(), simulationState.seekersWon());
+        for (Player player : players) {
+            assertEquals(player.getRewardFromTerminalState(state),
+                    player.getRewardFromTerminalState(simulationState), 0);
+        }
+    }
+
+    @Test
+    public void testSetSimulationResult() {
+        int[] actionCodes = State.createAvailableActionsBuffer();
+        while (!simulationState.isTerminal()) {
+            int numberOfActions = simulationState.fillAvailableActionCodesForCurrentAgent(actionCodes);
+            if (numberOfActions > 0)
+                simulationState.performActionForCurrentAgent(actionCodes[0]);
+            else
+                simulationState.skipCurrentAgent();
+        }
+        state.setSimulationResult(simulationState);
+        assertTrue(state.isTerminal());
+        assertEquals(simulationState.hiderWon(), state.hiderWon());
+        assertEquals(simulationState.seekersWon(), state.seekersWon());
+    }
+}
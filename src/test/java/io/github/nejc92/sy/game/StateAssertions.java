@@ -0,0 +1,30 @@
+package io.github.nejc92.sy.game;
+
+import static org.junit.Assert.*;
+
+public final class StateAssertions {
+
+    private static final int NO_POSITION = -1;
+
+    private StateAssertions() {
+    }
+
+    public static void assertRedoneActionMatchesPerformedAction(State previousState, State redoneState) {
+        State.UndoRecord undoRecord = redoneState.getLastUndoRecord();
+        State performedState = previousState.copy();
+        if (undoRecord.getActionCode() == Action.NO_ACTION)
+            performedState.skipCurrentAgent();
+        else
+            performedState.performTrustedActionForCurrentAgent(undoRecord.getActionCode());
+        assertTrue(performedState.getLastUndoRecord().spansSameTurnsAs(undoRecord));
+        PlayersOnBoard redonePlayersOnBoard = redoneState.getPlayersOnBoard();
+        int hidersMostProbablePosition = redonePlayersOnBoard.getHidersMostProbablePosition();
+        if (hidersMostProbablePosition != NO_POSITION)
+            assertTrue(redonePlayersOnBoard.hidersPossiblePositionsContain(hidersMostProbablePosition));
+        PlayersOnBoard performedPlayersOnBoard = performedState.getPlayersOnBoard();
+        performedPlayersOnBoard.restoreHidersMostProbablePositions(hidersMostProbablePosition,
+                performedPlayersOnBoard.getHidersMostProbablePositionPreviousRound());
+        assertTrue(redoneState.contentEquals(performedState));
+        assertEquals(performedState.getHash(), redoneState.getHash());
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.nejc92.sy.game;
+
+import io.github.nejc92.sy.players.*;
+import io.github.nejc92.sy.strategies.CoalitionReduction;
+import io.github.nejc92.sy.strategies.MoveFiltering;
+import io.github.nejc92.sy.strategies.Playouts;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StateTest {
+
+    private static final int[] PLAYERS_POSITIONS = {34, 94, 155, 13};
+    private static final int HIDERS_MOST_PROBABLE_POSITION = 103;
+    private static final int NUMBER_OF_RANDOM_GAMES = 50;
+
+    private Player[] players;
+    private State state;
+
+    @Before
+    public void setUp() {
+        players = initializePlayers();
+        state = State.initializeTest(players, PLAYERS_POSITIONS.clone(), HIDERS_MOST_PROBABLE_POSITION);
+    }
+
+    private static Player[] initializePlayers() {
+        Player[] players = new Player[4];
+        players[0] = new Hider(Player.Operator.HUMAN, "", Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        players[1] = new Seeker(Player.Operator.MCTS, Seeker.Color.BLACK.name(), Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        players[2] = new Seeker(Player.Operator.MCTS, Seeker.Color.BLUE.name(), Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        players[3] = new Seeker(Player.Operator.MCTS, Seeker.Color.YELLOW.name(), Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        return players;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPerformActionForCurrentAgentRejectsUnavailableAction() {
+        state.performActionForCurrentAgent(new Action(Action.Transportation.TAXI, 1));
+    }
+
+    @Test
+    public void testPerformTrustedActionForCurrentAgent() {
+        state.performTrustedActionForCurrentAgent(Action.encode(Action.Transportation.TAXI, 10));
+        assertSame(players[1], state.getCurrentAgent());
+        assertEquals(3, state.getPlayersOnBoard().getPlayersTickets(0, Action.Transportation.TAXI));
+    }
+
+    @Test
+    public void testCopyHasEqualContent() {
+        state.setSearchModeOn();
+        State copy = state.copy();
+        assertNotSame(state, copy);
+        assertTrue(state.contentEquals(copy));
+        assertEquals(state.getCurrentAgent().getName(), copy.getCurrentAgent().getName());
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        State copy = state.copy();
+        copy.performActionForCurrentAgent(Action.encode(Action.Transportation.TAXI, 10));
+        assertFalse(state.contentEquals(copy));
+        assertSame(players[0], state.getCurrentAgent());
+        assertSame(players[0], copy.getPreviousAgent());
+        assertEquals(4, state.getPlayersOnBoard().getPlayersTickets(0, Action.Transportation.TAXI));
+        assertEquals(3, copy.getPlayersOnBoard().getPlayersTickets(0, Action.Transportation.TAXI));
+    }
+
+    @Test
+    public void testUndoRandomGames() {
+        Random random = new Random(0);
+        for (int i = 0; i < NUMBER_OF_RANDOM_GAMES; i++)
+            playRandomGameForwardAndBack(State.initialize(initializePlayers()), random);
+    }
+
+    @Test
+    public void testUndoRandomGamesInSearchFromHidersPov() {
+        Random random = new Random(1);
+        for (int i = 0; i < NUMBER_OF_RANDOM_GAMES; i++) {
+            State state = State.initialize(initializePlayers());
+            state.setSearchModeOn();
+            playRandomGameForwardAndBack(state, random);
+        }
+    }
+
+    @Test
+    public void testUndoRandomGamesInSearchFromSeekersPov() {
+        Random random = new Random(2);
+        for (int i = 0; i < NUMBER_OF_RANDOM_GAMES; i++) {
+            State state = State.initialize(initializePlayers());
+            state.skipCurrentAgent();
+            state.setSearchModeOn();
+            playRandomGameForwardAndBack(state, random);
+        }
+    }
+
+    private static void playRandomGameForwardAndBack(State state, Random random) {
+        List<State> states = new ArrayList<>();
+        List<State.UndoRecord> undoRecords = new ArrayList<>();
+        int initialNumberOfUndoRecords = state.getNumberOfUndoRecords();
+        while (!state.isTerminal()) {
+            states.add(state.copy());
+            List<Action> actions = state.getAvailableActionsForCurrentAgent();
+            if (actions.isEmpty())
+                state.skipCurrentAgent();
+            else
+                state.performActionForCurrentAgent(actions.get(random.nextInt(actions.size())));
+            undoRecords.add(state.getLastUndoRecord());
+            assertEquals(state.calculateHash(), state.getHash());
+        }
+        State terminalState = state.copy();
+        for (int i = states.size() - 1; i >= 0; i--) {
+            state.undoLastAction();
+            assertTrue(states.get(i).contentEquals(state));
+            assertEquals(states.get(i).getHash(), state.getHash());
+        }
+        assertEquals(initialNumberOfUndoRecords, state.getNumberOfUndoRecords());
+        for (int i = 0; i < undoRecords.size(); i++) {
+            assertTrue(states.get(i).contentEquals(state));
+            state.redoAction(undoRecords.get(i));
+        }
+        assertTrue(terminalState.contentEquals(state));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUndoWithoutActions() {
+        state.undoLastAction();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDeterminizeHidersPositionOutsideSearch() {
+        state.determinizeHidersPosition();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRedoActionRejectsUndoRecordFromDifferentState() {
+        state.performActionForCurrentAgent(Action.encode(Action.Transportation.TAXI, 10));
+        State.UndoRecord undoRecord = state.getLastUndoRecord();
+        state.redoAction(undoRecord);
+    }
+
+    @Test
+    public void testHashOfCopy() {
+        assertEquals(state.calculateHash(), state.getHash());
+        assertEquals(state.getHash(), state.copy().getHash());
+    }
+
+    @Test
+    public void testHashChangesWithState() {
+        long hash = state.getHash();
+        state.skipCurrentAgent();
+        assertNotEquals(hash, state.getHash());
+        state.undoLastAction();
+        assertEquals(hash, state.getHash());
+        state.performActionForCurrentAgent(Action.encode(Action.Transportation.TAXI, 10));
+        assertNotEquals(hash, state.getHash());
+        assertEquals(state.calculateHash(), state.getHash());
+    }
+}
@@ -0,0 +1,318 @@
+package io.github.nejc92.sy.search;
+
+import io.github.nejc92.sy.game.Action;
+import io.github.nejc92.sy.game.State;
+import io.github.nejc92.sy.game.StateAssertions;
+import io.github.nejc92.sy.players.*;
+import io.github.nejc92.sy.strategies.CoalitionReduction;
+import io.github.nejc92.sy.strategies.MoveFiltering;
+import io.github.nejc92.sy.strategies.Playouts;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TreeSearchTest {
+
+    private static final int NUMBER_OF_ITERATIONS = 200;
+    private static final double EXPLORATION_PARAMETER = 0.2;
+    private static final long TIME_BUDGET_MILLIS = 20;
+    private static final int TREE_REUSE_ITERATIONS = 2000;
+    private static final int TREE_REUSE_CAPACITY = 1 << 16;
+
+    private State state;
+
+    @Before
+    public void setUp() {
+        Player[] players = new Player[3];
+        players[0] = new Hider(Player.Operator.MCTS, "", Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        players[1] = new Seeker(Player.Operator.MCTS, Seeker.Color.BLACK.name(), Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        players[2] = new Seeker(Player.Operator.MCTS, Seeker.Color.BLUE.name(), Playouts.Uses.GREEDY,
+                CoalitionReduction.Uses.YES, MoveFiltering.Uses.YES);
+        state = State.initialize(players);
+        state.setSearchModeOn();
+    }
+
+    @Test
+    public void testSearchReturnsAvailableAction() {
+        TreeSearch treeSearch = TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS);
+        Action action = treeSearch.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+    }
+
+    @Test
+    public void testSearchLeavesStateUnchanged() {
+        State copy = state.copy();
+        TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertTrue(state.contentEquals(copy));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInitializeIterationsRejectsNonPositiveNumber() {
+        TreeSearch.initializeIterations(0);
+    }
+
+    @Test
+    public void testSearchWithTranspositionsReturnsAvailableAction() {
+        TreeSearch treeSearch = TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS);
+        Action action = treeSearch.uctSearchWithTranspositions(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+    }
+
+    @Test
+    public void testSearchWithSmallTranspositionTableLeavesStateUnchanged() {
+        State copy = state.copy();
+        TreeSearch treeSearch = TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setTranspositionTableCapacity(8);
+        Action action = treeSearch.uctSearchWithTranspositions(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertTrue(state.contentEquals(copy));
+    }
+
+    @Test
+    public void testRootParallelSearchReturnsAvailableAction() {
+        State copy = state.copy();
+        TreeSearch treeSearch = TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setNumberOfThreads(4);
+        Action action = treeSearch.uctSearchWithRootParallelization(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertTrue(state.contentEquals(copy));
+    }
+
+    @Test
+    public void testDeterminizedSearchReturnsAvailableActionForSeeker() {
+        state.setSearchModeOff();
+        while (state.currentPlayerIsHider())
+            state.performActionForCurrentAgent(state.getAvailableActionsForCurrentAgent().get(0));
+        state.setSearchModeOn();
+        State copy = state.copy();
+        TreeSearch treeSearch = TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setNumberOfThreads(4)
+                .setNumberOfDeterminizations(8);
+        Action action = treeSearch.uctSearchWithDeterminizations(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertTrue(state.contentEquals(copy));
+    }
+
+    @Test
+    public void testDeterminizedSearchSplitsIterationsAcrossDeterminizations() {
+        state.setSearchModeOff();
+        while (state.currentPlayerIsHider())
+            state.performActionForCurrentAgent(state.getAvailableActionsForCurrentAgent().get(0));
+        state.setSearchModeOn();
+        TreeSearch treeSearch = TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setNumberOfThreads(4)
+                .setNumberOfDeterminizations(8);
+        treeSearch.uctSearchWithDeterminizations(state, EXPLORATION_PARAMETER);
+        assertEquals(NUMBER_OF_ITERATIONS, treeSearch.getNumberOfCompletedIterations());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNumberOfDeterminizationsRejectsNonPositiveNumber() {
+        TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setNumberOfDeterminizations(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNumberOfThreadsRejectsNonPositiveNumber() {
+        TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setNumberOfThreads(0);
+    }
+
+    @Test
+    public void testTreeParallelSearchReturnsAvailableAction() {
+        State copy = state.copy();
+        TreeSearch treeSearch = TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setNumberOfThreads(4);
+        Action action = treeSearch.uctSearchWithTreeParallelization(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertTrue(state.contentEquals(copy));
+    }
+
+    @Test
+    public void testLeafParallelSearchReturnsAvailableAction() {
+        State copy = state.copy();
+        TreeSearch treeSearch = TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setNumberOfPlayouts(4);
+        Action action = treeSearch.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertTrue(state.contentEquals(copy));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNumberOfPlayoutsRejectsNonPositiveNumber() {
+        TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setNumberOfPlayouts(0);
+    }
+
+    @Test
+    public void testSearchReportsCompletedIterations() {
+        TreeSearch treeSearch = TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS);
+        treeSearch.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertEquals(NUMBER_OF_ITERATIONS, treeSearch.getNumberOfCompletedIterations());
+        treeSearch.setNumberOfThreads(2).uctSearchWithTreeParallelization(state, EXPLORATION_PARAMETER);
+        assertEquals(2 * NUMBER_OF_ITERATIONS, treeSearch.getNumberOfCompletedIterations());
+    }
+
+    @Test
+    public void testTimeBudgetedSearchReturnsAvailableAction() {
+        State copy = state.copy();
+        TreeSearch treeSearch = TreeSearch.initializeTimeBudget(TIME_BUDGET_MILLIS);
+        Action action = treeSearch.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertTrue(state.contentEquals(copy));
+        assertTrue(treeSearch.getNumberOfCompletedIterations() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInitializeTimeBudgetRejectsNonPositiveBudget() {
+        TreeSearch.initializeTimeBudget(0);
+    }
+
+    @Test
+    public void testSearchReusesTreeOfPreviousSearchBySamePlayer() {
+        TreeSearch treeSearch = TreeSearch.initializeIterations(TREE_REUSE_ITERATIONS)
+                .setTreeReuseCapacity(TREE_REUSE_CAPACITY);
+        playAlongKeptTree(treeSearch, treeSearch.uctSearchWithExploration(state, EXPLORATION_PARAMETER));
+        State copy = state.copy();
+        Action action = treeSearch.uctSearchWithExploration(state, EXPLORATION_PARAMETER);
+        assertTrue(treeSearch.getNumberOfReusedNodes() > 0);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertTrue(state.contentEquals(copy));
+    }
+
+    @Test
+    public void testRootParallelSearchReusesTreesOfPreviousSearchBySamePlayer() {
+        TreeSearch treeSearch = TreeSearch.initializeIterations(TREE_REUSE_ITERATIONS).setNumberOfThreads(2)
+                .setTreeReuseCapacity(TREE_REUSE_CAPACITY);
+        playAlongKeptTree(treeSearch, treeSearch.uctSearchWithRootParallelization(state, EXPLORATION_PARAMETER));
+        State copy = state.copy();
+        Action action = treeSearch.uctSearchWithRootParallelization(state, EXPLORATION_PARAMETER);
+        assertTrue(treeSearch.getNumberOfReusedNodes() > 0);
+        assertTrue(state.getAvailableActionsForCurrentAgent().contains(action));
+        assertTrue(state.contentEquals(copy));
+    }
+
+    @Test
+    public void testReusedSeekersTreeMatchesPerformedActionsAndRollsBackSearchState() {
+        TreeSearch treeSearch = TreeSearch.initializeIterations(TREE_REUSE_ITERATIONS)
+                .setTreeReuseCapacity(TREE_REUSE_CAPACITY);
+        state.setSearchModeOff();
+        while (state.currentPlayerIsHider())
+            state.performActionForCurrentAgent(getHidersActionOutOfSeekersReach());
+        state.setSearchModeOn();
+        playAlongKeptTree(treeSearch, treeSearch.uctSearchWithExploration(state, EXPLORATION_PARAMETER));
+        TreeNode reusableRootNode = treeSearch.getReusableRootNodes(state, 1)[0];
+        assertNotNull(reusableRootNode);
+        State searchState = state.copy();
+        TreeNode rootNode = TreeSearch.getRootNode(reusableRootNode, searchState);
+        assertTrue(searchState.contentEquals(state));
+        assertEachChildMatchesPerformedActionAndRollsBack(rootNode, searchState);
+    }
+
+    private Action getHidersActionOutOfSeekersReach() {
+        for (Action action : state.getAvailableActionsForCurrentAgent()) {
+            State copy = state.copy();
+            copy.performActionForCurrentAgent(action);
+            if (!seekersCanCatchHider(copy) && !nextSeekerCanCatchHidersMostProbablePosition(copy))
+                return action;
+        }
+        throw new AssertionError("Error: hider cannot move out of seekers' reach");
+    }
+
+    private static boolean seekersCanCatchHider(State state) {
+        if (state.isTerminal())
+            return true;
+        else if (state.currentPlayerIsHider())
+            return false;
+        for (int actionCode : getAvailableActionCodes(state)) {
+            State copy = state.copy();
+            performActionCode(copy, actionCode);
+            if (seekersCanCatchHider(copy))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean nextSeekerCanCatchHidersMostProbablePosition(State state) {
+        if (state.currentPlayerIsHider())
+            return false;
+        State searchState = state.copy();
+        searchState.setSearchModeOn();
+        for (Action action : searchState.getAvailableActionsForCurrentAgent()) {
+            State copy = searchState.copy();
+            copy.performActionForCurrentAgent(action);
+            if (copy.seekersWon())
+                return true;
+        }
+        return false;
+    }
+
+    private void playAlongKeptTree(TreeSearch treeSearch, Action action) {
+        Player player = state.getCurrentAgent();
+        boolean hidersMovesHidden = !state.currentPlayerIsHider();
+        state.setSearchModeOff();
+        state.performActionForCurrentAgent(action);
+        Deque<Integer> actionCodes = null;
+        for (TreeNode node : treeSearch.getKeptRootNodes(player)) {
+            if (node != null && actionCodes == null)
+                actionCodes = findPlayableActionCodes(node, state.copy(), player, hidersMovesHidden);
+        }
+        assertNotNull(actionCodes);
+        for (int actionCode : actionCodes)
+            performActionCode(state, actionCode);
+        state.setSearchModeOn();
+    }
+
+    private static Deque<Integer> findPlayableActionCodes(TreeNode node, State state, Player player,
+                                                          boolean hidersMovesHidden) {
+        if (state.getCurrentAgent() == player)
+            return node.representsTerminalState() ? null : new ArrayDeque<>();
+        for (int actionCode : getAvailableActionCodes(state)) {
+            State copy = state.copy();
+            performActionCode(copy, actionCode);
+            TreeNode child = node.getChildMatchingUndoRecord(copy.getLastUndoRecord(), hidersMovesHidden);
+            if (child == null || copy.isTerminal())
+                continue;
+            Deque<Integer> playableActionCodes = findPlayableActionCodes(child, copy, player, hidersMovesHidden);
+            if (playableActionCodes != null) {
+                playableActionCodes.push(actionCode);
+                return playableActionCodes;
+            }
+        }
+        return null;
+    }
+
+    private static List<Integer> getAvailableActionCodes(State state) {
+        List<Integer> actionCodes = new ArrayList<>();
+        if (state.getAvailableActionsForCurrentAgent().isEmpty())
+            actionCodes.add(Action.NO_ACTION);
+        else {
+            for (Action action : state.getAvailableActionsForCurrentAgent())
+                actionCodes.add(action.getCode());
+        }
+        return actionCodes;
+    }
+
+    private static void performActionCode(State state, int actionCode) {
+        if (actionCode == Action.NO_ACTION)
+            state.skipCurrentAgent();
+        else
+            state.performActionForCurrentAgent(actionCode);
+    }
+
+    private static void assertEachChildMatchesPerformedActionAndRollsBack(TreeNode node, State searchState) {
+        for (TreeNode child : node.getChildren()) {
+            State startingState = searchState.copy();
+            child.redoActionTaken(searchState);
+            StateAssertions.assertRedoneActionMatchesPerformedAction(startingState, searchState);
+            assertEachChildMatchesPerformedActionAndRollsBack(child, searchState);
+            searchState.undoLastAction();
+            assertTrue(searchState.contentEquals(startingState));
+            assertEquals(startingState.getHash(), searchState.getHash());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetTreeReuseCapacityRejectsNegativeCapacity() {
+        TreeSearch.initializeIterations(NUMBER_OF_ITERATIONS).setTreeReuseCapacity(-1);
+    }
+}
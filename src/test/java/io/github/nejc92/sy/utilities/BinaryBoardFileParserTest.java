@@ -0,0 +1,52 @@
+package io.github.nejc92.sy.utilities;
+
+import io.github.nejc92.sy.game.Action;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class BinaryBoardFileParserTest {
+
+    private static final String BOARD_FILE_NAME = "src/main/resources/board_file.xml";
+    private static final String HIDERS_DISTANCES_FILE_NAME = "src/main/resources/hiders_distances_file.xml";
+    private static final String SEEKERS_DISTANCES_FILE_NAME = "src/main/resources/seekers_distances_file.xml";
+    private static final String BINARY_BOARD_FILE_NAME = "src/main/resources/board_file.bin";
+
+    @Test
+    public void testShippedBinaryFileMatchesXmlFiles() {
+        BinaryBoardFileParser parser = new BinaryBoardFileParser(BINARY_BOARD_FILE_NAME);
+        parser.parse();
+        assertEquals(new BoardFileParser(BOARD_FILE_NAME).getParsedData(), parser.getParsedPositionsActions());
+        assertEquals(new DistancesFileParser(HIDERS_DISTANCES_FILE_NAME).getParsedData(),
+                parser.getParsedHidersDistances());
+        assertEquals(new DistancesFileParser(SEEKERS_DISTANCES_FILE_NAME).getParsedData(),
+                parser.getParsedSeekersDistances());
+    }
+
+    @Test
+    public void testWriteAndParse() throws IOException {
+        File file = File.createTempFile("board", ".bin");
+        file.deleteOnExit();
+        List<List<Action>> positionsActions = new BoardFileParser(BOARD_FILE_NAME).getParsedData();
+        List<List<Integer>> hidersDistances = new DistancesFileParser(HIDERS_DISTANCES_FILE_NAME).getParsedData();
+        List<List<Integer>> seekersDistances = new DistancesFileParser(SEEKERS_DISTANCES_FILE_NAME).getParsedData();
+        new BinaryBoardFileWriter(file.getPath()).write(positionsActions, hidersDistances, seekersDistances);
+        BinaryBoardFileParser parser = new BinaryBoardFileParser(file.getPath());
+        parser.parse();
+        assertEquals(positionsActions, parser.getParsedPositionsActions());
+        assertEquals(hidersDistances, parser.getParsedHidersDistances());
+        assertEquals(seekersDistances, parser.getParsedSeekersDistances());
+        int position1 = 160;
+        int position2 = 198;
+        assertEquals(3, (int) parser.getParsedHidersDistances().get(position1 - 1).get(position2 - position1 - 1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testParseXmlFileFails() {
+        new BinaryBoardFileParser(BOARD_FILE_NAME).parse();
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.nejc92.sy.utilities;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WeightedSamplerTest {
+
+    private static final int NUMBER_OF_SAMPLES = 100000;
+
+    @Test
+    public void testSampleSingleValue() {
+        WeightedSampler sampler = new WeightedSampler(1);
+        sampler.add(42, 0.196);
+        assertEquals(42, sampler.sample());
+    }
+
+    @Test
+    public void testSampleFollowsWeights() {
+        WeightedSampler sampler = new WeightedSampler(3);
+        sampler.add(1, 0.1);
+        sampler.add(2, 0.6);
+        sampler.add(3, 0.3);
+        assertEquals(1.0, sampler.getTotalWeight(), 1e-9);
+        int[] counts = new int[4];
+        for (int i = 0; i < NUMBER_OF_SAMPLES; i++)
+            counts[sampler.sample()]++;
+        assertEquals(0.1, (double) counts[1] / NUMBER_OF_SAMPLES, 0.01);
+        assertEquals(0.6, (double) counts[2] / NUMBER_OF_SAMPLES, 0.01);
+        assertEquals(0.3, (double) counts[3] / NUMBER_OF_SAMPLES, 0.01);
+    }
+
+    @Test
+    public void testClear() {
+        WeightedSampler sampler = new WeightedSampler(2);
+        sampler.add(1, 0.5);
+        sampler.clear();
+        sampler.add(2, 0.5);
+        assertEquals(1, sampler.size());
+        assertEquals(2, sampler.sample());
+    }
+}